@@ -0,0 +1,65 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import com.example.undoschool_assignment_backend.config.IngestionProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.service.BulkIngestionService;
+import com.example.undoschool_assignment_backend.service.IndexGeneration;
+import com.example.undoschool_assignment_backend.service.IngestionReport;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of the ingestion pipeline against a local stub server. Run with
+ * {@code java -cp benchmarks/target/benchmarks.jar
+ * com.example.undoschool_assignment_backend.benchmarks.BulkIngestionBenchmark}.
+ */
+public final class BulkIngestionBenchmark {
+
+    private static final int DOCUMENTS = 200_000;
+
+    private BulkIngestionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Without TCP_NODELAY the stub's separate header/body writes hit delayed ACKs (~40 ms per call).
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        run("no rejections", 0.0);
+        run("5% rejected with 429", 0.05);
+    }
+
+    private static void run(String label, double rejectionRate) throws Exception {
+        IngestionProperties properties = new IngestionProperties();
+        properties.setInitialBackoff(Duration.ofMillis(5));
+        properties.setMaxRetries(10);
+
+        try (StubElasticsearchServer server = StubElasticsearchServer.start(rejectionRate)) {
+            BulkIngestionService service = new BulkIngestionService(server.client(), properties, new IndexGeneration(), event -> { });
+            IngestionReport report = service.ingest("courses", () -> courses(DOCUMENTS));
+            service.shutdown();
+
+            double seconds = report.took().toNanos() / 1e9;
+            System.out.printf("%-22s %,d docs in %.2fs = %,.0f docs/s, %d bulk requests, %d retries%n",
+                    label, report.indexed(), seconds, report.indexed() / seconds,
+                    server.bulkRequests(), report.retried());
+            if (report.indexed() != DOCUMENTS || report.failed() != 0) {
+                throw new IllegalStateException("Expected " + DOCUMENTS + " indexed and none failed: " + report);
+            }
+        }
+    }
+
+    private static Iterator<CourseDocument> courses(int count) {
+        ZonedDateTime start = ZonedDateTime.parse("2025-06-10T15:00:00Z");
+        return IntStream.range(0, count).mapToObj(i -> {
+            CourseDocument course = new CourseDocument(
+                    String.valueOf(i), "Course " + i, "Description of course " + i,
+                    "Math", "COURSE", "1st–3rd", 6, 10, 10.0 + i % 90,
+                    start.plusHours(i), null);
+            course.buildSuggest();
+            return course;
+        }).iterator();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Cold start to first query: launches the packaged application in a fresh JVM, with the
+ * {@code fast-start} profile, against a stub Elasticsearch, and times from process start until
+ * {@code /api/search} first answers 200. Compares the executable jar, the extracted jar, and,
+ * when built with {@code ./mvnw -Pfast-start package}, the extracted jar with Spring AOT and
+ * with AOT plus the AppCDS archive.
+ * <p>
+ * Package the application first, then run from its directory with {@code java -cp
+ * benchmarks/target/benchmarks.jar com.example.undoschool_assignment_backend.benchmarks.ColdStartBenchmark};
+ * an argument names another build directory than {@code target}. Set the number of starts per
+ * variant with {@code -Dcoldstart.runs=5}.
+ */
+public final class ColdStartBenchmark {
+
+    private static final String SEARCH_RESPONSE = """
+            {"took":1,"timed_out":false,"_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+             "hits":{"total":{"value":1,"relation":"eq"},"max_score":1.0,"hits":[
+               {"_index":"courses_v1","_id":"1","_score":1.0,"_source":{"id":"1","title":"Math Explorers"}}]}}
+            """;
+    // The extracted jar holds the application classes at its root.
+    private static final String AOT_INITIALIZER =
+            "com/example/undoschool_assignment_backend/UndoschoolAssignmentBackendApplication__ApplicationContextInitializer.class";
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private ColdStartBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Without TCP_NODELAY the stub's separate header/body writes hit delayed ACKs (~40 ms per call).
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        int runs = Integer.getInteger("coldstart.runs", 5);
+        Path target = Path.of(args.length > 0 ? args[0] : "target");
+        Path executable = find(target);
+        if (executable == null) {
+            System.out.println("No executable jar in target/, run ./mvnw package first");
+            return;
+        }
+        Path application = target.resolve("application");
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("jar", executable, List.of()));
+        if (Files.isDirectory(application)) {
+            Path extracted = application.resolve(executable.getFileName());
+            variants.add(new Variant("extracted", extracted, List.of()));
+            if (hasAotInitializer(extracted)) {
+                variants.add(new Variant("aot", extracted, List.of("-Dspring.aot.enabled=true")));
+                Path archive = application.resolve("application.jsa");
+                if (Files.exists(archive)) {
+                    variants.add(new Variant("aot+cds", extracted, List.of("-Dspring.aot.enabled=true",
+                            "-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off", "-Xlog:cds+dynamic=off")));
+                }
+            }
+        }
+
+        try (StubElasticsearchServer elasticsearch = StubElasticsearchServer.start();
+             HttpClient http = HttpClient.newHttpClient()) {
+            elasticsearch.respond("/_search", SEARCH_RESPONSE);
+            System.out.printf("%-10s %6s %10s %10s%n", "variant", "runs", "median ms", "min ms");
+            for (Variant variant : variants) {
+                List<Long> millis = new ArrayList<>();
+                for (int i = 0; i < runs; i++) {
+                    millis.add(startToFirstQuery(variant, elasticsearch, http));
+                }
+                Collections.sort(millis);
+                System.out.printf("%-10s %6d %10d %10d%n", variant.name(), runs, millis.get(runs / 2), millis.get(0));
+            }
+        }
+    }
+
+    private static long startToFirstQuery(Variant variant, StubElasticsearchServer elasticsearch, HttpClient http)
+            throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(variant.jvmArguments());
+        command.addAll(List.of("-jar", variant.jar().toString(),
+                "--server.port=" + port,
+                "--spring.profiles.active=fast-start",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                // The stub cannot create indices; keep the failing background load quiet.
+                "--logging.level.com.example.undoschool_assignment_backend.config.CourseIndexBootstrap=OFF",
+                "--courses.bootstrap.retry-interval=1h",
+                "--spring.elasticsearch.uris=http://localhost:" + elasticsearch.port()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/search?q=math")).build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet.
+                }
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with " + process.exitValue());
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException(variant.name() + " did not answer within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Path find(Path target) throws IOException {
+        if (!Files.isDirectory(target)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(file -> file.getFileName().toString().endsWith("-exec.jar")).findFirst().orElse(null);
+        }
+    }
+
+    private static boolean hasAotInitializer(Path jar) throws IOException {
+        try (JarFile file = new JarFile(jar.toFile())) {
+            return file.getEntry(AOT_INITIALIZER) != null;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private record Variant(String name, Path jar, List<String> jvmArguments) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.service.CourseColumns;
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A structured search answered by the read model's {@link CourseColumns}, against filtering
+ * and sorting the same courses as objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarFilterBenchmark {
+
+    @Param({"1000", "100000"})
+    public int courses;
+
+    private List<CourseDocument> documents;
+    private CourseColumns columns;
+    private CourseSearchQuery query;
+
+    @Setup
+    public void setUp() {
+        documents = Fixtures.courses(courses);
+        columns = CourseColumns.build(documents);
+        query = CourseSearchQuery.of(null, 6, 10, "Math", null, 10.0, 80.0, null, "priceAsc", 0, 10);
+    }
+
+    @Benchmark
+    public CourseColumns.Result columns() {
+        return columns.search(query);
+    }
+
+    @Benchmark
+    public List<CourseDocument> objects() {
+        return documents.stream()
+                .filter(c -> query.category().equals(c.getCategory()))
+                .filter(c -> c.getPrice() != null && c.getPrice() >= query.minPrice() && c.getPrice() <= query.maxPrice())
+                .filter(c -> c.getMaxAge() != null && c.getMaxAge() >= query.minAge())
+                .filter(c -> c.getMinAge() != null && c.getMinAge() <= query.maxAge())
+                .sorted(Comparator.comparing(CourseDocument::getPrice).thenComparing(CourseDocument::getId))
+                .limit(query.size())
+                .toList();
+    }
+}
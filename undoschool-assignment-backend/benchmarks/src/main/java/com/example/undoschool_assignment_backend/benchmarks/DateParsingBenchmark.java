@@ -0,0 +1,51 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing the ISO 8601 timestamps of the {@code startDate} parameter and of every hit's
+ * {@code nextSessionDate}, with the normalisation {@link CourseSearchQuery#of} applies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateParsingBenchmark {
+
+    @Param({"2025-06-10T15:00:00Z", "2025-06-01T05:30:00+05:30"})
+    public String timestamp;
+
+    @Benchmark
+    public ZonedDateTime zonedDateTime() {
+        return ZonedDateTime.parse(timestamp);
+    }
+
+    @Benchmark
+    public ZonedDateTime zonedDateTimeNormalised() {
+        return ZonedDateTime.parse(timestamp)
+                .withZoneSameInstant(ZoneOffset.UTC)
+                .truncatedTo(CourseSearchQuery.START_DATE_ROUNDING);
+    }
+
+    @Benchmark
+    public Instant instant() {
+        return Instant.parse(timestamp);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inputs shared by the benchmarks: the JSON mapper configured the way the application's
+ * {@code ElasticsearchConfig} builds it, representative queries, and search responses assembled
+ * from the courses in {@code sample-courses.json}, so nothing needs a running cluster.
+ */
+final class Fixtures {
+
+    static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private Fixtures() {
+    }
+
+    static JacksonJsonpMapper jsonpMapper() {
+        return new JacksonJsonpMapper(OBJECT_MAPPER.copy());
+    }
+
+    /**
+     * {@code filters}: browsing a category from a date; {@code text}: a plain text search;
+     * {@code all}: text plus every filter.
+     */
+    static CourseSearchQuery query(String shape) {
+        ZonedDateTime startDate = ZonedDateTime.parse("2025-06-01T05:30:00+05:30");
+        return switch (shape) {
+            case "filters" -> CourseSearchQuery.of(null, null, null, "Math", null, null, null, startDate, null, 0, 10);
+            case "text" -> CourseSearchQuery.of("math explorers", null, null, null, null, null, null, null, null, 0, 10);
+            case "all" -> CourseSearchQuery.of("math explorers", 6, 10, "Math", "COURSE", 10.0, 60.0, startDate,
+                    "priceAsc", 2, 10);
+            default -> throw new IllegalArgumentException("Unknown query shape: " + shape);
+        };
+    }
+
+    /**
+     * A search response body holding {@code hits} hits, cycling through the sample catalog.
+     */
+    static byte[] searchResponse(int hits) {
+        ArrayNode courses = sampleCourses();
+        ObjectNode response = OBJECT_MAPPER.createObjectNode();
+        response.put("took", 3).put("timed_out", false);
+        response.putObject("_shards").put("total", 1).put("successful", 1).put("skipped", 0).put("failed", 0);
+        ObjectNode hitsNode = response.putObject("hits");
+        hitsNode.putObject("total").put("value", hits).put("relation", "eq");
+        hitsNode.putNull("max_score");
+        ArrayNode hitArray = hitsNode.putArray("hits");
+        for (int i = 0; i < hits; i++) {
+            ObjectNode source = courses.get(i % courses.size()).deepCopy();
+            source.put("id", String.valueOf(i + 1));
+            ObjectNode hit = hitArray.addObject();
+            hit.put("_index", "courses_v1").put("_id", String.valueOf(i + 1)).putNull("_score");
+            hit.set("_source", source);
+            hit.putArray("sort").add(1749567600000L + i);
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * {@code count} courses cycling through the sample catalog, each with its own id.
+     */
+    static List<CourseDocument> courses(int count) {
+        ArrayNode courses = sampleCourses();
+        List<CourseDocument> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ObjectNode source = courses.get(i % courses.size()).deepCopy();
+            source.put("id", String.valueOf(i + 1));
+            documents.add(OBJECT_MAPPER.convertValue(source, CourseDocument.class));
+        }
+        return documents;
+    }
+
+    private static ArrayNode sampleCourses() {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/sample-courses.json")) {
+            if (in == null) {
+                throw new IllegalStateException("sample-courses.json not found on the classpath");
+            }
+            JsonNode courses = OBJECT_MAPPER.readTree(in);
+            return (ArrayNode) courses;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
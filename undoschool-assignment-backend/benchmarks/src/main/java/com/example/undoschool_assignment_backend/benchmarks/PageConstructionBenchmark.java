@@ -0,0 +1,59 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.json.JsonpDeserializer;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+import com.example.undoschool_assignment_backend.service.ElasticsearchSearchBackend;
+import jakarta.json.stream.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning parsed hits into the page that {@code searchCourses} returns, through
+ * {@link ElasticsearchSearchBackend#toPage}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageConstructionBenchmark {
+
+    @Param({"10", "100"})
+    public int hits;
+
+    private SearchResponse<CourseDocument> response;
+    private CourseSearchQuery query;
+
+    @Setup
+    public void setUp() {
+        JacksonJsonpMapper mapper = Fixtures.jsonpMapper();
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(Fixtures.searchResponse(hits)))) {
+            JsonpDeserializer<SearchResponse<CourseDocument>> deserializer =
+                    SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(CourseDocument.class));
+            response = deserializer.deserialize(parser, mapper);
+        }
+        query = CourseSearchQuery.of(null, null, null, null, null, null, null, null, null, 0, hits);
+    }
+
+    @Benchmark
+    public Page<CourseDocument> toPage() {
+        return ElasticsearchSearchBackend.toPage(response, query);
+    }
+}
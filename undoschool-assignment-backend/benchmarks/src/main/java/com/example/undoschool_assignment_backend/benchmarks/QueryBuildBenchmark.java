@@ -0,0 +1,61 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import com.example.undoschool_assignment_backend.service.CourseProjection;
+import com.example.undoschool_assignment_backend.service.CourseQueryBuilder;
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the bool query and the complete {@link SearchRequest} that {@code searchCourses}
+ * sends, for a filter-only, a text-only and a fully filtered query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBuildBenchmark {
+
+    @Param({"filters", "text", "all"})
+    public String shape;
+
+    private final CourseQueryBuilder queryBuilder = new CourseQueryBuilder();
+    private CourseSearchQuery query;
+
+    @Setup
+    public void setUp() {
+        query = Fixtures.query(shape);
+    }
+
+    @Benchmark
+    public Query boolQuery() {
+        return queryBuilder.query(query);
+    }
+
+    @Benchmark
+    public SearchRequest searchRequest() {
+        return SearchRequest.of(s -> s
+                .index("courses")
+                .from(query.page() * query.size())
+                .size(query.size())
+                .query(queryBuilder.query(query))
+                .sort(queryBuilder.sort(query))
+                .source(CourseProjection.FULL.source())
+        );
+    }
+}
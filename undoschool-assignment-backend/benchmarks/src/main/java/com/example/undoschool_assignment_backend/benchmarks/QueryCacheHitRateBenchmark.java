@@ -0,0 +1,206 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.JsonpUtils;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.example.undoschool_assignment_backend.config.FacetProperties;
+import com.example.undoschool_assignment_backend.service.CourseFacets;
+import com.example.undoschool_assignment_backend.service.CourseQueryBuilder;
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Replays a query log through the query builder and reports how often a bounded LRU cache
+ * keyed like our result cache ({@link CourseSearchQuery}) and like Elasticsearch's shard request
+ * cache (the serialised request body) would have answered it, once with {@code startDate} as the
+ * client sent it and once rounded as {@link CourseSearchQuery#of} does now.
+ * <p>
+ * Run with {@code java -cp benchmarks/target/benchmarks.jar
+ * com.example.undoschool_assignment_backend.benchmarks.QueryCacheHitRateBenchmark}. Without
+ * {@code -Dreplay.log=path} it replays a seeded synthetic day of traffic; a log file holds one
+ * request per line as {@code <ISO instant> <query string>}, and {@code startDate=now} in the
+ * query string stands for the request's own timestamp. {@code -Dreplay.cacheSize=1000} sets
+ * the number of cached entries.
+ */
+public final class QueryCacheHitRateBenchmark {
+
+    private static final List<String> CATEGORIES = List.of("Math", "Science", "Art", "Music", "Coding", "History");
+    private static final List<String> TERMS = List.of("math", "science", "art", "piano", "python", "robots", "history",
+            "chess", "writing", "spanish");
+    private static final List<String> SORTS = List.of("upcoming", "priceAsc", "priceDesc");
+
+    private final CourseQueryBuilder queryBuilder = new CourseQueryBuilder();
+    private final CourseFacets courseFacets = new CourseFacets(queryBuilder, new FacetProperties());
+    private final JsonpMapper mapper = new JacksonJsonpMapper();
+
+    public static void main(String[] args) throws IOException {
+        new QueryCacheHitRateBenchmark().replayQueryLog();
+    }
+
+    private void replayQueryLog() throws IOException {
+        int cacheSize = Integer.getInteger("replay.cacheSize", 1000);
+        String logFile = System.getProperty("replay.log");
+        List<LoggedRequest> requests = logFile != null ? read(Path.of(logFile)) : synthetic(20_000, new Random(42));
+
+        System.out.printf("%d requests, %d cache entries%n", requests.size(), cacheSize);
+        System.out.printf("%-8s %14s %15s %15s%n", "dates", "result cache", "request cache", "faceted cache");
+        for (boolean rounded : new boolean[]{false, true}) {
+            Lru<CourseSearchQuery> resultCache = new Lru<>(cacheSize);
+            Lru<String> requestCache = new Lru<>(cacheSize);
+            Lru<String> facetedCache = new Lru<>(cacheSize);
+            for (LoggedRequest request : requests) {
+                CourseSearchQuery query = rounded ? request.query() : request.unrounded();
+                resultCache.access(query);
+                requestCache.access(body(query, false));
+                facetedCache.access(body(query, true));
+            }
+            System.out.printf("%-8s %13.1f%% %14.1f%% %14.1f%%%n", rounded ? "rounded" : "raw",
+                    resultCache.hitRate(), requestCache.hitRate(), facetedCache.hitRate());
+        }
+    }
+
+    private String body(CourseSearchQuery query, boolean faceted) {
+        SearchRequest request = faceted
+                ? SearchRequest.of(s -> s
+                        .size(query.size())
+                        .query(queryBuilder.textQuery(query))
+                        .postFilter(queryBuilder.filter(query))
+                        .aggregations(courseFacets.aggregations(query))
+                        .sort(queryBuilder.sort(query)))
+                : SearchRequest.of(s -> s
+                        .from(query.page() * query.size())
+                        .size(query.size())
+                        .query(queryBuilder.query(query))
+                        .sort(queryBuilder.sort(query)));
+        return JsonpUtils.toJsonString(request, mapper);
+    }
+
+    /**
+     * A day of traffic at roughly one request every four seconds: most searches browse a
+     * category from "now", a few page on, and a minority search by text.
+     */
+    private static List<LoggedRequest> synthetic(int count, Random random) {
+        ZonedDateTime time = ZonedDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        List<LoggedRequest> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            time = time.plus(Duration.ofMillis(random.nextInt(8_000)));
+            Map<String, String> params = new HashMap<>();
+            if (random.nextInt(10) < 3) {
+                params.put("q", TERMS.get(zipf(random, TERMS.size())));
+            }
+            if (random.nextInt(10) < 7) {
+                params.put("category", CATEGORIES.get(zipf(random, CATEGORIES.size())));
+            }
+            if (random.nextInt(10) < 6) {
+                params.put("startDate", "now");
+            }
+            if (random.nextInt(10) < 2) {
+                params.put("minAge", String.valueOf(5 + random.nextInt(4) * 2));
+            }
+            params.put("sort", SORTS.get(zipf(random, SORTS.size())));
+            params.put("page", String.valueOf(random.nextInt(10) < 8 ? 0 : 1 + random.nextInt(3)));
+            requests.add(LoggedRequest.of(time, params));
+        }
+        return requests;
+    }
+
+    private static int zipf(Random random, int n) {
+        double total = 0;
+        for (int k = 1; k <= n; k++) {
+            total += 1.0 / k;
+        }
+        double target = random.nextDouble() * total;
+        for (int k = 1; k <= n; k++) {
+            target -= 1.0 / k;
+            if (target <= 0) {
+                return k - 1;
+            }
+        }
+        return n - 1;
+    }
+
+    private static List<LoggedRequest> read(Path file) throws IOException {
+        List<LoggedRequest> requests = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] parts = line.trim().split("\\s+", 2);
+            Map<String, String> params = new HashMap<>();
+            if (parts.length > 1) {
+                for (String pair : parts[1].split("&")) {
+                    String[] kv = pair.split("=", 2);
+                    params.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                            kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+                }
+            }
+            requests.add(LoggedRequest.of(ZonedDateTime.parse(parts[0]), params));
+        }
+        return requests;
+    }
+
+    private record LoggedRequest(CourseSearchQuery query, CourseSearchQuery unrounded) {
+
+        static LoggedRequest of(ZonedDateTime time, Map<String, String> params) {
+            Function<String, Integer> integer = name -> params.containsKey(name) ? Integer.valueOf(params.get(name)) : null;
+            Function<String, Double> decimal = name -> params.containsKey(name) ? Double.valueOf(params.get(name)) : null;
+            String start = params.get("startDate");
+            ZonedDateTime startDate = start == null ? null : "now".equals(start) ? time : ZonedDateTime.parse(start);
+            CourseSearchQuery query = CourseSearchQuery.of(params.get("q"), integer.apply("minAge"), integer.apply("maxAge"),
+                    params.get("category"), params.get("type"), decimal.apply("minPrice"), decimal.apply("maxPrice"),
+                    startDate, params.get("sort"),
+                    params.containsKey("page") ? Integer.parseInt(params.get("page")) : 0,
+                    params.containsKey("size") ? Integer.parseInt(params.get("size")) : 10);
+            CourseSearchQuery unrounded = new CourseSearchQuery(query.q(), query.minAge(), query.maxAge(),
+                    query.category(), query.type(), query.minPrice(), query.maxPrice(),
+                    startDate == null ? null : startDate.withZoneSameInstant(ZoneOffset.UTC),
+                    query.sort(), query.page(), query.size());
+            return new LoggedRequest(query, unrounded);
+        }
+    }
+
+    private static final class Lru<K> {
+
+        private final Map<K, Boolean> entries;
+        private long hits;
+        private long accesses;
+
+        Lru(int capacity) {
+            this.entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Boolean> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        void access(K key) {
+            accesses++;
+            if (entries.get(key) != null) {
+                hits++;
+            } else {
+                entries.put(key, Boolean.TRUE);
+            }
+        }
+
+        double hitRate() {
+            return accesses == 0 ? 0 : 100.0 * hits / accesses;
+        }
+    }
+}
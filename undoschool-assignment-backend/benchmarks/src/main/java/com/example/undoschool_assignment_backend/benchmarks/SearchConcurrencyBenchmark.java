@@ -0,0 +1,139 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import com.example.undoschool_assignment_backend.UndoschoolAssignmentBackendApplication;
+import com.example.undoschool_assignment_backend.config.ExecutionProperties;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test for {@code courses.execution.mode}. Boots the application once per mode against a
+ * stub Elasticsearch that answers every search after a fixed delay, then keeps N concurrent
+ * clients calling {@code /api/search} and prints throughput and latency. With the default
+ * 200 Tomcat threads, platform mode levels off at about {@code 200 / latency} requests per
+ * second while the other modes keep scaling with N until the CPU saturates.
+ * <p>
+ * Run with {@code java -cp benchmarks/target/benchmarks.jar
+ * com.example.undoschool_assignment_backend.benchmarks.SearchConcurrencyBenchmark}; tune with
+ * {@code -Dload.latencyMs=1000 -Dload.concurrency=100,400,800 -Dload.seconds=8
+ * -Dload.warmupSeconds=5}. The latency is deliberately high so that the thread limit, not the
+ * CPU shared by the app, the stub and the clients, is what runs out first.
+ */
+public final class SearchConcurrencyBenchmark {
+
+    private static final String SEARCH_RESPONSE = """
+            {"took":1,"timed_out":false,"_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+             "hits":{"total":{"value":1,"relation":"eq"},"max_score":1.0,"hits":[
+               {"_index":"courses_v1","_id":"1","_score":1.0,"_source":{"id":"1","title":"Math Explorers",
+                "category":"Math","type":"COURSE","minAge":6,"maxAge":8,"price":49.99,
+                "nextSessionDate":"2025-06-10T15:00:00Z"}}]}}
+            """;
+
+    private SearchConcurrencyBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Duration latency = Duration.ofMillis(Long.getLong("load.latencyMs", 1000));
+        int[] concurrency = Arrays.stream(System.getProperty("load.concurrency", "100,400,800").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.getLong("load.seconds", 8));
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmupSeconds", 5));
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Without TCP_NODELAY the stub's separate header/body writes hit delayed ACKs (~40 ms per call).
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        try (StubElasticsearchServer elasticsearch = StubElasticsearchServer.start()) {
+            elasticsearch.respond("/_search", SEARCH_RESPONSE);
+            elasticsearch.latency(latency);
+            System.out.printf("Elasticsearch latency %d ms, %d s per run%n", latency.toMillis(), duration.toSeconds());
+            System.out.printf("%-9s %8s %10s %9s %9s %7s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms", "errors");
+            for (ExecutionProperties.Mode mode : ExecutionProperties.Mode.values()) {
+                try (ConfigurableApplicationContext app = start(elasticsearch, mode)) {
+                    int port = ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+                    URI uri = URI.create("http://localhost:" + port + "/api/search?q=math");
+                    drive(uri, 50, warmup);
+                    for (int clients : concurrency) {
+                        Result result = drive(uri, clients, duration);
+                        System.out.printf("%-9s %8d %10.0f %9.1f %9.1f %7d%n", mode.name().toLowerCase(), clients,
+                                result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+                    }
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(StubElasticsearchServer elasticsearch,
+                                                        ExecutionProperties.Mode mode) {
+        return new SpringApplicationBuilder(UndoschoolAssignmentBackendApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.elasticsearch.uris=http://localhost:" + elasticsearch.port(),
+                "--courses.bootstrap.enabled=false",
+                "--courses.search.cache.enabled=false",
+                "--courses.overload.limiter.enabled=false",
+                "--courses.overload.stale.enabled=false",
+                "--courses.elasticsearch.max-connections-total=2000",
+                "--courses.elasticsearch.max-connections-per-route=2000",
+                "--courses.elasticsearch.connection-request-timeout=10s",
+                "--courses.execution.mode=" + mode.name().toLowerCase());
+    }
+
+    private static Result drive(URI uri, int clients, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).build();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(executor).build()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            latencies.add(System.nanoTime() - start);
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+            List<Long> all = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                all.addAll(future.get());
+            }
+            Collections.sort(all);
+            return new Result(all.size() / (double) duration.toSeconds(),
+                    percentile(all, 0.50), percentile(all, 0.99), errors.get());
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1)) / 1e6;
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, long errors) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.example.undoschool_assignment_backend.service.CourseProjection;
+import com.example.undoschool_assignment_backend.service.CourseQueryBuilder;
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+import jakarta.json.stream.JsonGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a {@link SearchRequest} body through the {@link JacksonJsonpMapper}, the way the
+ * transport does before every search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchRequestSerializationBenchmark {
+
+    @Param({"filters", "text", "all"})
+    public String shape;
+
+    private final JacksonJsonpMapper mapper = Fixtures.jsonpMapper();
+    private SearchRequest request;
+
+    @Setup
+    public void setUp() {
+        CourseQueryBuilder queryBuilder = new CourseQueryBuilder();
+        CourseSearchQuery query = Fixtures.query(shape);
+        request = SearchRequest.of(s -> s
+                .index("courses")
+                .from(query.page() * query.size())
+                .size(query.size())
+                .query(queryBuilder.query(query))
+                .sort(queryBuilder.sort(query))
+                .source(CourseProjection.FULL.source())
+        );
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+            mapper.serialize(request, generator);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.json.JsonpDeserializer;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.document.CourseListItem;
+import jakarta.json.stream.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing search responses of {@code hits} hits into {@code SearchResponse<CourseDocument>}, and
+ * the same bytes into the {@link CourseListItem} projection, which skips the unused fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchResponseDeserializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int hits;
+
+    private final JacksonJsonpMapper mapper = Fixtures.jsonpMapper();
+    private final JsonpDeserializer<SearchResponse<CourseDocument>> documents =
+            SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(CourseDocument.class));
+    private final JsonpDeserializer<SearchResponse<CourseListItem>> listItems =
+            SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(CourseListItem.class));
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = Fixtures.searchResponse(hits);
+    }
+
+    @Benchmark
+    public SearchResponse<CourseDocument> courseDocuments() {
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(body))) {
+            return documents.deserialize(parser, mapper);
+        }
+    }
+
+    @Benchmark
+    public SearchResponse<CourseListItem> listItems() {
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(body))) {
+            return listItems.deserialize(parser, mapper);
+        }
+    }
+}
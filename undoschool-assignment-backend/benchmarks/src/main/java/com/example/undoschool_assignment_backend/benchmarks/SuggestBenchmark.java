@@ -0,0 +1,93 @@
+package com.example.undoschool_assignment_backend.benchmarks;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.example.undoschool_assignment_backend.config.IndexProperties;
+import com.example.undoschool_assignment_backend.service.ElasticsearchTitleSuggester;
+import com.example.undoschool_assignment_backend.service.TitleSuggestIndex;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-JVM prefix index versus the completion suggester path. The Elasticsearch side runs
+ * against {@link StubElasticsearchServer}, so it measures client serialisation, the loopback
+ * round-trip and response parsing only; a real cluster adds its own work on top. The forked JVM
+ * turns on TCP_NODELAY for the stub, whose separate header and body writes otherwise wait for
+ * delayed ACKs (~40 ms per call).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class SuggestBenchmark {
+
+    private static final String[] WORDS = {"Math", "Science", "Art", "Robotics", "Creative", "Music", "Coding",
+            "Chess", "Spanish", "Drama", "History", "Nature", "Space", "Poetry", "Dance", "Logic"};
+
+    @Param({"1000", "100000"})
+    public int titles;
+
+    @Param({"m", "math s"})
+    public String prefix;
+
+    private TitleSuggestIndex index;
+    private StubElasticsearchServer server;
+    private ElasticsearchTitleSuggester elasticsearch;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> courseTitles = new ArrayList<>(titles);
+        for (int i = 0; i < titles; i++) {
+            courseTitles.add(WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i % 997);
+        }
+        index = TitleSuggestIndex.build(courseTitles);
+
+        StringBuilder options = new StringBuilder();
+        for (String title : index.topK(prefix, 10)) {
+            options.append(options.isEmpty() ? "" : ",")
+                    .append("{\"text\":\"").append(title).append("\",\"_index\":\"courses_v1\",\"_id\":\"1\",\"_score\":1.0}");
+        }
+        server = StubElasticsearchServer.start();
+        server.respond("/_search", """
+                {"took":1,"timed_out":false,"_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+                 "hits":{"total":{"value":0,"relation":"eq"},"max_score":null,"hits":[]},
+                 "suggest":{"completion#course-suggest":[{"text":"%s","offset":0,"length":%d,"options":[%s]}]}}
+                """.formatted(prefix, prefix.length(), options));
+        ElasticsearchClient client = server.client();
+        elasticsearch = new ElasticsearchTitleSuggester(client, new ElasticsearchAsyncClient(client._transport()),
+                new IndexProperties());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Benchmark
+    public List<String> inMemory() {
+        return index.topK(prefix, 10);
+    }
+
+    @Benchmark
+    public List<String> elasticsearchCompletion() throws IOException {
+        return elasticsearch.suggest(prefix, 10);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits of {@code POST /api/search/batch}, which runs several searches in one
+ * {@code _msearch} round-trip.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.search.batch")
+public class BatchSearchProperties {
+
+    /** Searches accepted in one batch; larger batches are rejected with 400. */
+    private int maxQueries = 10;
+
+    /** Searches of one batch Elasticsearch runs at the same time ({@code max_concurrent_searches}). */
+    private int maxConcurrentSearches = 4;
+}
@@ -0,0 +1,37 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * How the index is prepared and the catalog loaded at startup.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.bootstrap")
+public class BootstrapProperties {
+
+    private boolean enabled = true;
+
+    private Mode mode = Mode.BLOCKING;
+
+    /** Leave the catalog alone when the alias already holds courses, e.g. on every pod after the first. */
+    private boolean skipIfPopulated = false;
+
+    /** Wait before a failed background load is tried again. */
+    private Duration retryInterval = Duration.ofSeconds(10);
+
+    /** How often the number of courses read is logged while loading. */
+    private Duration progressInterval = Duration.ofSeconds(5);
+
+    public enum Mode {
+        /** Load before the application reports ready; a failure stops the application. */
+        BLOCKING,
+        /**
+         * Load on a background thread while the application serves requests, reporting
+         * not ready on the readiness probe until the load succeeds, retrying on failure.
+         */
+        BACKGROUND
+    }
+}
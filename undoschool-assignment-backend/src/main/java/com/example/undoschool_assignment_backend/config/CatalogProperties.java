@@ -0,0 +1,33 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Where the course catalog is loaded from at startup and how it is synchronised with the index.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.catalog")
+public class CatalogProperties {
+
+    /**
+     * Catalog location: {@code classpath:...}, {@code file:...} or a plain file path. The file
+     * may be a JSON array or newline-delimited JSON, optionally gzip-compressed ({@code .gz}).
+     */
+    private String location = "classpath:sample-courses.json";
+
+    /** Whether every course is re-indexed on startup or only new and changed ones. */
+    private SyncMode sync = SyncMode.FULL;
+
+    /** File holding the id to content-hash fingerprints of the last successful sync. */
+    private Path fingerprintFile = Path.of("data", "courses.fingerprints");
+
+    public enum SyncMode {
+        /** Re-index every course in the catalog; documents of removed courses are left in place. */
+        FULL,
+        /** Index new and changed courses, delete removed ones, skip the rest. */
+        INCREMENTAL
+    }
+}
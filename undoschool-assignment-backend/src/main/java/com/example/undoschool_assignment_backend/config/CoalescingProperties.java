@@ -0,0 +1,15 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sharing of in-flight Elasticsearch calls between identical concurrent searches and
+ * suggestions.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+}
@@ -0,0 +1,147 @@
+package com.example.undoschool_assignment_backend.config;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.example.undoschool_assignment_backend.service.CourseCatalogSync;
+import com.example.undoschool_assignment_backend.service.CourseIndexManager;
+import com.example.undoschool_assignment_backend.service.CourseIndexReplacedEvent;
+import com.example.undoschool_assignment_backend.service.CourseIndexTemplate;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Startup sequence for the index: apply the index template, create the first version behind
+ * the alias if there is none, check the live index against the template, and only then sync
+ * the catalog into it. Every step is safe to repeat on the next start.
+ * <p>
+ * In {@link BootstrapProperties.Mode#BACKGROUND} mode the sequence runs off the startup thread
+ * and is retried until it succeeds; {@link CourseReadinessIndicator} keeps the readiness probe
+ * down meanwhile and reports the {@link #progress()}. With {@code skip-if-populated} an alias
+ * that already holds courses is used as is.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "courses.bootstrap.enabled", matchIfMissing = true)
+public class CourseIndexBootstrap {
+
+    public enum Phase {
+        PENDING, LOADING, READY, FAILED
+    }
+
+    private final CourseIndexManager indexManager;
+    private final CourseIndexTemplate indexTemplate;
+    private final CourseCatalogSync catalogSync;
+    private final ElasticsearchClient elasticsearchClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BootstrapProperties properties;
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2,
+            Thread.ofPlatform().name("course-bootstrap-", 0).daemon().factory());
+    private final AtomicLong coursesRead = new AtomicLong();
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile int attempts;
+    private volatile String lastError;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() throws IOException {
+        if (properties.getMode() == BootstrapProperties.Mode.BACKGROUND) {
+            executor.execute(this::attempt);
+            return;
+        }
+        try {
+            load();
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to bootstrap or load course data", e);
+            throw e;
+        }
+    }
+
+    public Phase phase() {
+        return phase;
+    }
+
+    /** Phase, courses read from the catalog, attempts so far and the last failure, for the readiness probe. */
+    public Map<String, Object> progress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("phase", phase);
+        progress.put("coursesRead", coursesRead.get());
+        progress.put("attempts", attempts);
+        if (lastError != null) {
+            progress.put("lastError", lastError);
+        }
+        return progress;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void attempt() {
+        try {
+            load();
+        } catch (IOException | RuntimeException e) {
+            Duration retry = properties.getRetryInterval();
+            log.error("Failed to bootstrap or load course data, retrying in {}", retry, e);
+            if (!executor.isShutdown()) {
+                executor.schedule(this::attempt, retry.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void load() throws IOException {
+        long start = System.nanoTime();
+        attempts++;
+        phase = Phase.LOADING;
+        coursesRead.set(0);
+        long interval = properties.getProgressInterval().toMillis();
+        ScheduledFuture<?> progressLog = executor.scheduleAtFixedRate(
+                () -> log.info("Loading courses: {} read from the catalog", coursesRead.get()),
+                interval, interval, TimeUnit.MILLISECONDS);
+        try {
+            String active = indexManager.ensureIndex();
+            List<String> drift = indexTemplate.drift(active);
+            if (!drift.isEmpty()) {
+                drift.forEach(problem -> log.warn("Index '{}' differs from template '{}': {}",
+                        active, CourseIndexTemplate.NAME, problem));
+                log.warn("Run POST /api/admin/index/rebuild (courses.admin.enabled=true) to move '{}' onto an index created from the current template",
+                        CourseIndexManager.ALIAS);
+            }
+            long existing = properties.isSkipIfPopulated()
+                    ? elasticsearchClient.count(c -> c.index(CourseIndexManager.ALIAS)).count()
+                    : 0;
+            if (existing > 0) {
+                log.info("'{}' already holds {} courses, skipping the catalog load", CourseIndexManager.ALIAS, existing);
+            } else {
+                catalogSync.sync(CourseIndexManager.ALIAS, coursesRead::set);
+            }
+            eventPublisher.publishEvent(new CourseIndexReplacedEvent(CourseIndexManager.ALIAS));
+            lastError = null;
+            phase = Phase.READY;
+            log.info("Data loading complete in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            lastError = e.toString();
+            phase = Phase.FAILED;
+            throw e;
+        } finally {
+            progressLog.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.undoschool_assignment_backend.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.availability.ReadinessStateHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.stereotype.Component;
+
+/**
+ * Takes the place of Boot's {@code readinessState} indicator so that
+ * {@code /actuator/health/readiness} refuses traffic until {@link CourseIndexBootstrap} has
+ * loaded the index, with the loading progress as details. Without the bootstrap it reports the
+ * application's {@link ReadinessState} as usual.
+ */
+@Component("readinessStateHealthIndicator")
+public class CourseReadinessIndicator extends ReadinessStateHealthIndicator {
+
+    private final ObjectProvider<CourseIndexBootstrap> bootstrap;
+
+    public CourseReadinessIndicator(ApplicationAvailability availability, ObjectProvider<CourseIndexBootstrap> bootstrap) {
+        super(availability);
+        this.bootstrap = bootstrap;
+    }
+
+    @Override
+    protected AvailabilityState getState(ApplicationAvailability availability) {
+        CourseIndexBootstrap loader = bootstrap.getIfAvailable();
+        if (loader != null && loader.phase() != CourseIndexBootstrap.Phase.READY) {
+            return ReadinessState.REFUSING_TRAFFIC;
+        }
+        return super.getState(availability);
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws Exception {
+        super.doHealthCheck(builder);
+        CourseIndexBootstrap loader = bootstrap.getIfAvailable();
+        if (loader != null) {
+            builder.withDetail("courses", loader.progress());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of cursor paging ({@code paging=cursor}), whose tokens carry the whole query back
+ * to the client.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.search.cursor")
+public class CursorProperties {
+
+    /**
+     * Key that signs cursor tokens, so a client cannot edit the query inside one. Every instance
+     * behind the same load balancer needs the same key; when empty, a random key is generated on
+     * startup and cursors only work on the instance that issued them.
+     */
+    private String secret = "";
+
+    /** Largest page a cursor walk may ask for; larger ones are rejected with 400. */
+    private int maxSize = 100;
+}
@@ -1,30 +1,160 @@
 package com.example.undoschool_assignment_backend.config;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.json.JsonpMapper;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.http.HttpHost;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
 import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestClientBuilder;
+import org.elasticsearch.client.sniff.ElasticsearchNodesSniffer;
+import org.elasticsearch.client.sniff.SniffOnFailureListener;
+import org.elasticsearch.client.sniff.Sniffer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
 
+import java.net.URI;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Builds the Elasticsearch client on a shared, bounded connection pool. Replaces Spring Boot's
+ * REST client auto-configuration (excluded on the application class) so the pool, keep-alive,
+ * compression and sniffer can be set up together.
+ */
 @Configuration
+@EnableConfigurationProperties(ElasticsearchProperties.class)
 public class ElasticsearchConfig {
 
+    private final SniffOnFailureListener sniffOnFailureListener = new SniffOnFailureListener();
+
     @Bean
-    public ElasticsearchClient elasticsearchClient() {
+    public PoolingNHttpClientConnectionManager elasticsearchConnectionManager(
+            ElasticsearchProperties properties, ElasticsearchTransportProperties transport,
+            MeterRegistry meterRegistry) throws IOReactorException {
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setConnectTimeout((int) properties.getConnectionTimeout().toMillis())
+                .setSoTimeout((int) properties.getSocketTimeout().toMillis())
+                .setSoKeepAlive(properties.isSocketKeepAlive())
+                .build();
+        PoolingNHttpClientConnectionManager connectionManager =
+                new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioReactorConfig));
+        connectionManager.setMaxTotal(transport.getMaxConnectionsTotal());
+        connectionManager.setDefaultMaxPerRoute(transport.getMaxConnectionsPerRoute());
+
+        registerPoolGauge(meterRegistry, connectionManager, "leased", PoolStats::getLeased);
+        registerPoolGauge(meterRegistry, connectionManager, "available", PoolStats::getAvailable);
+        registerPoolGauge(meterRegistry, connectionManager, "pending", PoolStats::getPending);
+        Gauge.builder("elasticsearch.client.connections.max", connectionManager,
+                        manager -> manager.getTotalStats().getMax())
+                .description("Upper bound of the Elasticsearch connection pool")
+                .register(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public RestClient elasticsearchRestClient(ElasticsearchProperties properties,
+                                              ElasticsearchTransportProperties transport,
+                                              PoolingNHttpClientConnectionManager connectionManager) {
+        HttpHost[] hosts = properties.getUris().stream()
+                .map(URI::create)
+                .map(uri -> new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme()))
+                .toArray(HttpHost[]::new);
 
-        ObjectMapper jackson = new ObjectMapper();
-        jackson.registerModule(new JavaTimeModule());
+        RestClientBuilder builder = RestClient.builder(hosts)
+                .setCompressionEnabled(transport.isCompression())
+                .setRequestConfigCallback(requestConfig -> requestConfig
+                        .setConnectTimeout((int) properties.getConnectionTimeout().toMillis())
+                        .setSocketTimeout((int) properties.getSocketTimeout().toMillis())
+                        .setConnectionRequestTimeout((int) transport.getConnectionRequestTimeout().toMillis()))
+                .setHttpClientConfigCallback(httpClient -> {
+                    httpClient.setConnectionManager(connectionManager)
+                            .setKeepAliveStrategy((response, context) -> transport.getKeepAlive().toMillis());
+                    if (StringUtils.hasText(properties.getUsername())) {
+                        BasicCredentialsProvider credentials = new BasicCredentialsProvider();
+                        credentials.setCredentials(AuthScope.ANY,
+                                new UsernamePasswordCredentials(properties.getUsername(), properties.getPassword()));
+                        httpClient.setDefaultCredentialsProvider(credentials);
+                    }
+                    return httpClient;
+                });
+        if (transport.getSniff().isEnabled()) {
+            builder.setFailureListener(sniffOnFailureListener);
+        }
+        if (StringUtils.hasText(properties.getPathPrefix())) {
+            builder.setPathPrefix(properties.getPathPrefix());
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "courses.elasticsearch.sniff", name = "enabled", havingValue = "true")
+    public Sniffer elasticsearchSniffer(RestClient restClient, ElasticsearchProperties properties,
+                                        ElasticsearchTransportProperties transport) {
+        ElasticsearchNodesSniffer.Scheme scheme = properties.getUris().stream().anyMatch(uri -> uri.startsWith("https"))
+                ? ElasticsearchNodesSniffer.Scheme.HTTPS
+                : ElasticsearchNodesSniffer.Scheme.HTTP;
+        Sniffer sniffer = Sniffer.builder(restClient)
+                .setSniffIntervalMillis((int) transport.getSniff().getInterval().toMillis())
+                .setSniffAfterFailureDelayMillis((int) transport.getSniff().getDelayAfterFailure().toMillis())
+                .setNodesSniffer(new ElasticsearchNodesSniffer(restClient,
+                        ElasticsearchNodesSniffer.DEFAULT_SNIFF_REQUEST_TIMEOUT, scheme))
+                .build();
+        sniffOnFailureListener.setSniffer(sniffer);
+        return sniffer;
+    }
 
-        JsonpMapper jsonpMapper = new JacksonJsonpMapper(jackson);
+    /**
+     * The client maps documents with a copy of the application's {@link ObjectMapper}, so dates
+     * and unknown properties are handled as in the REST API. A copy, because the JSON-P mapper
+     * reconfigures the mapper it is given.
+     */
+    @Bean
+    public JsonpMapper elasticsearchJsonpMapper(ObjectMapper objectMapper) {
+        return new JacksonJsonpMapper(objectMapper.copy());
+    }
 
-        RestClient restClient = RestClient.builder(new HttpHost("localhost", 9200)).build();
-        ElasticsearchTransport transport = new RestClientTransport(restClient, jsonpMapper);
+    @Bean
+    public ElasticsearchTransport elasticsearchTransport(RestClient restClient, JsonpMapper jsonpMapper) {
+        return new RestClientTransport(restClient, jsonpMapper);
+    }
+
+    @Bean
+    public ElasticsearchClient elasticsearchClient(ElasticsearchTransport transport) {
         return new ElasticsearchClient(transport);
     }
-}
\ No newline at end of file
+
+    /**
+     * Same transport and pool as {@link #elasticsearchClient}, but completes futures from the
+     * HTTP client's I/O threads instead of blocking the caller.
+     */
+    @Bean
+    public ElasticsearchAsyncClient elasticsearchAsyncClient(ElasticsearchTransport transport) {
+        return new ElasticsearchAsyncClient(transport);
+    }
+
+    private static void registerPoolGauge(MeterRegistry meterRegistry, PoolingNHttpClientConnectionManager connectionManager,
+                                          String state, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("elasticsearch.client.connections", connectionManager,
+                        manager -> value.applyAsDouble(manager.getTotalStats()))
+                .tag("state", state)
+                .description("Elasticsearch connection pool usage; pending counts requests waiting for a connection")
+                .register(meterRegistry);
+    }
+}
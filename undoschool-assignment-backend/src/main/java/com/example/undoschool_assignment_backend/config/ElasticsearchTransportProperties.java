@@ -0,0 +1,44 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool, compression and sniffing of the Elasticsearch REST transport. Nodes,
+ * credentials and connect/socket timeouts come from the standard {@code spring.elasticsearch.*}
+ * properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.elasticsearch")
+public class ElasticsearchTransportProperties {
+
+    /** Pooled connections across all nodes. */
+    private int maxConnectionsTotal = 50;
+
+    /** Pooled connections to a single node. */
+    private int maxConnectionsPerRoute = 20;
+
+    /** How long a request waits for a free pooled connection before failing. */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /** How long an idle pooled connection is kept open for reuse. */
+    private Duration keepAlive = Duration.ofMinutes(1);
+
+    /** Gzip request bodies and accept gzip responses. */
+    private boolean compression = true;
+
+    private Sniff sniff = new Sniff();
+
+    @Data
+    public static class Sniff {
+
+        /** Discover the cluster's HTTP nodes periodically and after a node fails. */
+        private boolean enabled = false;
+
+        private Duration interval = Duration.ofMinutes(5);
+
+        private Duration delayAfterFailure = Duration.ofMinutes(1);
+    }
+}
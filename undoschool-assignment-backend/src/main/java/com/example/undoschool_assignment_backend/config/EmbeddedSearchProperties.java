@@ -0,0 +1,20 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * The in-process Lucene index used when {@code courses.search.backend=embedded}.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.search.embedded")
+public class EmbeddedSearchProperties {
+
+    /**
+     * Directory for the index files, memory-mapped; unset keeps the index on the heap. The
+     * index is rebuilt from the catalog on every start either way.
+     */
+    private Path indexPath;
+}
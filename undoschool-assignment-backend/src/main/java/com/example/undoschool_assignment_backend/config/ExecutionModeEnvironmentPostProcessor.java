@@ -0,0 +1,28 @@
+package com.example.undoschool_assignment_backend.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Request threading for {@link ExecutionProperties.Mode#VIRTUAL}: turns on Spring Boot's own
+ * {@code spring.threads.virtual.enabled}, which moves Tomcat and the application's task
+ * executors onto virtual threads, unless that property is set explicitly. The other modes keep
+ * Tomcat's default pool; {@code ASYNC} is handled by which search controller is registered.
+ */
+public class ExecutionModeEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String VIRTUAL_THREADS = "spring.threads.virtual.enabled";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if ("virtual".equalsIgnoreCase(environment.getProperty("courses.execution.mode"))
+                && !environment.containsProperty(VIRTUAL_THREADS)) {
+            environment.getPropertySources().addLast(
+                    new MapPropertySource("coursesExecutionMode", Map.of(VIRTUAL_THREADS, "true")));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * How {@code /api/search} and {@code /api/search/suggest} requests are executed.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.execution")
+public class ExecutionProperties {
+
+    private Mode mode = Mode.PLATFORM;
+
+    public enum Mode {
+        /** Tomcat's pooled platform threads, each blocked for the Elasticsearch round-trip. */
+        PLATFORM,
+        /** A virtual thread per request; a blocked request no longer holds an OS thread. */
+        VIRTUAL,
+        /** Handlers return a future from the async client and release the request thread immediately. */
+        ASYNC
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@code GET /api/search/export}, which streams every match as NDJSON.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.search.export")
+public class ExportProperties {
+
+    /**
+     * How long one export may stream before it is cut off. Set on the export's own async
+     * request, so other async endpoints keep the default timeout.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
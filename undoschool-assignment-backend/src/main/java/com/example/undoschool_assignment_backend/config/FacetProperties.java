@@ -0,0 +1,29 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Facet counts returned with {@code /api/search?facets=true}.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.search.facets")
+public class FacetProperties {
+
+    /** Most frequent values returned for the category and type facets. */
+    private int termsSize = 20;
+
+    /** Width of the price histogram buckets. */
+    private double priceInterval = 10;
+
+    /** Age bands as {@code min-max}, inclusive; a course counts in every band its age range overlaps. */
+    private List<String> ageBands = List.of("3-5", "6-8", "9-12", "13-18");
+
+    /** Cached facet results, keyed on the filters only, so paging and sorting reuse them. */
+    private long cacheMaximumSize = 5_000;
+
+    private Duration cacheTtl = Duration.ofMinutes(1);
+}
@@ -0,0 +1,34 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings applied to the versioned {@code courses_v{n}} indices behind the {@code courses} alias.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.index")
+public class IndexProperties {
+
+    /** Primary shards per index version; the catalog is small enough that one shard avoids per-shard overhead. */
+    private int numberOfShards = 1;
+
+    /** Replicas of a live index; rebuilds load with zero replicas and restore this afterwards. */
+    private int numberOfReplicas = 1;
+
+    /** Refresh interval of a live index; rebuilds load with refresh disabled. */
+    private String refreshInterval = "1s";
+
+    /** Physical index versions kept around, including the live one, so a rebuild can be rolled back. */
+    private int retainedVersions = 2;
+
+    /** How title prefixes are indexed for Elasticsearch autocomplete. */
+    private TitleAutocomplete titleAutocomplete = TitleAutocomplete.COMPLETION;
+
+    public enum TitleAutocomplete {
+        /** Completion suggester on {@code suggest}: fast, but only matches the start of a title. */
+        COMPLETION,
+        /** Adds a {@code search_as_you_type} sub-field, so any word of a title can be completed. */
+        SEARCH_AS_YOU_TYPE
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the bulk ingestion pipeline. A pending bulk request is flushed as soon as
+ * any of the operation count, byte size or time limits is reached.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.ingest")
+public class IngestionProperties {
+
+    /** Maximum number of operations per bulk request. */
+    private int maxOperations = 1000;
+
+    /** Maximum serialized size of a bulk request. */
+    private DataSize maxSize = DataSize.ofMegabytes(5);
+
+    /** Flush a partially filled bulk request after this long. */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /** Bulk requests allowed in flight at once; adding operations blocks beyond this. */
+    private int maxConcurrentRequests = 2;
+
+    /** How many times an operation rejected with 429 is retried before it is reported as failed. */
+    private int maxRetries = 5;
+
+    /** Backoff before the first retry; doubled on every subsequent attempt. */
+    private Duration initialBackoff = Duration.ofMillis(200);
+
+    /** Refresh interval restored after a load when the index had no explicit one. */
+    private String defaultRefreshInterval = "1s";
+
+    /** Upper bound on the number of individual failures kept in an ingestion report. */
+    private int maxReportedFailures = 100;
+}
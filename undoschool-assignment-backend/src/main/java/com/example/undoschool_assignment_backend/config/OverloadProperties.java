@@ -0,0 +1,73 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Load shedding in front of the search backend: an adaptive concurrency limit, a circuit
+ * breaker, and the last good results served while either rejects calls or the backend fails.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.overload")
+public class OverloadProperties {
+
+    private Limiter limiter = new Limiter();
+
+    private Breaker breaker = new Breaker();
+
+    private Stale stale = new Stale();
+
+    @Data
+    public static class Limiter {
+
+        private boolean enabled = true;
+
+        /** Concurrent backend calls allowed before any latency has been observed. */
+        private int initialLimit = 20;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 200;
+
+        /** Latency above the long-term average, as a ratio, tolerated before the limit shrinks. */
+        private double rttTolerance = 1.5;
+
+        /** Weight of each new estimate in the limit, between 0 and 1. */
+        private double smoothing = 0.2;
+    }
+
+    @Data
+    public static class Breaker {
+
+        private boolean enabled = true;
+
+        /** Most recent calls over which the failure rate is computed. */
+        private int windowSize = 50;
+
+        /** Calls needed in the window before the breaker can open. */
+        private int minimumCalls = 20;
+
+        /** Share of failed calls in the window that opens the breaker. */
+        private double failureRateThreshold = 0.5;
+
+        /** How long an open breaker rejects calls before letting trial calls through. */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        /** Trial calls that must all succeed for a half-open breaker to close. */
+        private int halfOpenCalls = 5;
+    }
+
+    @Data
+    public static class Stale {
+
+        private boolean enabled = true;
+
+        /** Searches and suggestions whose last good result is kept. */
+        private long maximumSize = 10_000;
+
+        /** Oldest result still served when the backend cannot answer. */
+        private Duration maxAge = Duration.ofMinutes(10);
+    }
+}
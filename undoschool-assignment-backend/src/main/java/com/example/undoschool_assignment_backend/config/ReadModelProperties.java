@@ -0,0 +1,14 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The in-JVM columnar copy of the catalog that answers searches without search text.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.search.read-model")
+public class ReadModelProperties {
+
+    private boolean enabled = false;
+}
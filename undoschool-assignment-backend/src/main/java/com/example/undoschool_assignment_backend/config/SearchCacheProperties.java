@@ -0,0 +1,22 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * In-process cache of {@code /api/search} results.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.search.cache")
+public class SearchCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Total weight of cached pages, where each page weighs one plus its number of hits. */
+    private long maximumWeight = 20_000;
+
+    /** How long a result is served before it is fetched again. */
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,20 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Logging of the generated query for searches that Elasticsearch answers slowly.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.search.slow-query")
+public class SlowQueryProperties {
+
+    /** Client-observed round-trip from which a search counts as slow. */
+    private Duration threshold = Duration.ofMillis(500);
+
+    /** Share of slow searches whose query is logged; the JSON is only rendered for those. */
+    private double sampleRate = 0.1;
+}
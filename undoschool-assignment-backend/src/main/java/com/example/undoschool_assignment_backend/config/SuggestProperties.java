@@ -0,0 +1,24 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Which engine answers {@code /api/search/suggest}.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.suggest")
+public class SuggestProperties {
+
+    private Mode mode = Mode.ELASTICSEARCH;
+
+    /** Maximum number of suggestions returned. */
+    private int size = 10;
+
+    public enum Mode {
+        /** Completion suggester on the {@code suggest} field. */
+        ELASTICSEARCH,
+        /** In-JVM prefix index over course titles; falls back to Elasticsearch until it is loaded. */
+        MEMORY
+    }
+}
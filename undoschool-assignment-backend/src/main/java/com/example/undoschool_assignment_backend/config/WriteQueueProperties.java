@@ -0,0 +1,30 @@
+package com.example.undoschool_assignment_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The write-behind queue behind {@code PUT/PATCH/DELETE /api/courses/{id}}. Pending writes are
+ * sent as one bulk request when either the operation or the time limit is reached.
+ */
+@Data
+@ConfigurationProperties(prefix = "courses.writes")
+public class WriteQueueProperties {
+
+    /** Maximum number of courses per bulk request; a full batch is flushed right away. */
+    private int maxBatchOperations = 500;
+
+    /** Flush pending writes after this long even if the batch is not full. */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** Distinct courses allowed to wait for a flush; writes for further courses are refused with 503. */
+    private int maxPending = 10_000;
+
+    /** How many times a write is retried after the bulk request itself failed or was rejected with 429. */
+    private int maxRetries = 5;
+
+    /** Backoff before the first retry of a write; doubled on every subsequent attempt. */
+    private Duration initialBackoff = Duration.ofMillis(200);
+}
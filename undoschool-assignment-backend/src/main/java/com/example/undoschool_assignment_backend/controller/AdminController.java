@@ -0,0 +1,46 @@
+package com.example.undoschool_assignment_backend.controller;
+
+import com.example.undoschool_assignment_backend.service.CourseIndexManager;
+import com.example.undoschool_assignment_backend.service.IndexConflictException;
+import com.example.undoschool_assignment_backend.service.IndexStatus;
+import com.example.undoschool_assignment_backend.service.RebuildResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Rebuild and rollback of the live index. They sit on the same port as the public API and can
+ * replace what every search sees, so they are only mapped with {@code courses.admin.enabled=true}.
+ */
+@RestController
+@ConditionalOnProperty(name = "courses.admin.enabled", havingValue = "true")
+@RequestMapping("/api/admin/index")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final CourseIndexManager indexManager;
+
+    @GetMapping
+    public IndexStatus status() throws IOException {
+        return indexManager.status();
+    }
+
+    @PostMapping("/rebuild")
+    public RebuildResult rebuild() throws IOException {
+        return indexManager.rebuild();
+    }
+
+    @PostMapping("/rollback")
+    public RebuildResult rollback() throws IOException {
+        return indexManager.rollback();
+    }
+
+    @ExceptionHandler(IndexConflictException.class)
+    public ProblemDetail conflict(IndexConflictException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.undoschool_assignment_backend.controller;
+
+import com.example.undoschool_assignment_backend.document.CourseListItem;
+import com.example.undoschool_assignment_backend.service.BatchSearchResult;
+import com.example.undoschool_assignment_backend.service.CourseProjection;
+import com.example.undoschool_assignment_backend.service.CourseService;
+import com.example.undoschool_assignment_backend.service.FacetedPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link CourseController} for {@code courses.execution.mode=async}:
+ * handlers return the async client's future, so the request thread is released while
+ * Elasticsearch works and the response is written once the future completes.
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "courses.execution.mode", havingValue = "async")
+public class AsyncCourseController {
+
+    private final CourseService courseService;
+
+    @GetMapping
+    public CompletableFuture<? extends Page<?>> search(SearchParams params,
+                                                       @RequestParam(required = false) List<String> fields) {
+        if (fields != null && !fields.isEmpty()) {
+            return courseService.searchCoursesAsync(params.toQuery(), CourseProjection.fields(fields));
+        }
+        return courseService.searchCoursesAsync(params.toQuery(), CourseProjection.FULL);
+    }
+
+    @GetMapping(params = "facets=true")
+    public CompletableFuture<? extends FacetedPage<?>> searchWithFacets(SearchParams params,
+                                                                        @RequestParam(required = false) List<String> fields,
+                                                                        @RequestParam(required = false) String view) {
+        return courseService.searchWithFacetsAsync(params.toQuery(), CourseProjection.select(fields, view));
+    }
+
+    @GetMapping(params = {"view=list", "facets!=true"})
+    public CompletableFuture<Page<CourseListItem>> searchList(SearchParams params) {
+        return courseService.searchCoursesAsync(params.toQuery(), CourseProjection.LIST);
+    }
+
+    @PostMapping("/batch")
+    public CompletableFuture<? extends List<? extends BatchSearchResult<?>>> searchBatch(
+            @RequestBody List<SearchParams> searches,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) String view) {
+        return courseService.searchBatchAsync(searches.stream().map(SearchParams::toQuery).toList(),
+                CourseProjection.select(fields, view));
+    }
+
+    @GetMapping("/suggest")
+    public CompletableFuture<List<String>> suggest(@RequestParam String q) {
+        return courseService.suggestTitlesAsync(q);
+    }
+}
@@ -1,40 +1,70 @@
 package com.example.undoschool_assignment_backend.controller;
 
-import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.document.CourseListItem;
+import com.example.undoschool_assignment_backend.service.BatchSearchResult;
+import com.example.undoschool_assignment_backend.service.CourseProjection;
 import com.example.undoschool_assignment_backend.service.CourseService;
+import com.example.undoschool_assignment_backend.service.FacetedPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.ZonedDateTime;
 import java.util.List;
 
+/**
+ * Search and suggest handlers that block the request thread (a pooled platform thread, or a
+ * virtual thread in {@code courses.execution.mode=virtual}) until Elasticsearch answers.
+ * Replaced by {@link AsyncCourseController} in {@code async} mode.
+ */
 @RestController
 @RequestMapping("/api/search")
 @RequiredArgsConstructor
+@ConditionalOnExpression("!'${courses.execution.mode:platform}'.equalsIgnoreCase('async')")
 public class CourseController {
 
     private final CourseService courseService;
 
     @GetMapping
-    public Page<CourseDocument> search(
-            @RequestParam(required = false) String q,
-            @RequestParam(required = false) Integer minAge,
-            @RequestParam(required = false) Integer maxAge,
-            @RequestParam(required = false) String category,
-            @RequestParam(required = false) String type,
-            @RequestParam(required = false) Double minPrice,
-            @RequestParam(required = false) Double maxPrice,
-            @RequestParam(required = false) ZonedDateTime startDate,
-            @RequestParam(defaultValue = "upcoming") String sort,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
-    ) {
-        return courseService.searchCourses(q, minAge, maxAge, category, type, minPrice, maxPrice, startDate, sort, page, size);
+    public Page<?> search(SearchParams params, @RequestParam(required = false) List<String> fields) {
+        if (fields != null && !fields.isEmpty()) {
+            return courseService.searchCourses(params.toQuery(), CourseProjection.fields(fields));
+        }
+        return courseService.searchCourses(params.toQuery());
+    }
+
+    /**
+     * Results plus facet counts ({@code facets=true}); {@code fields} and {@code view=list} apply to the hits.
+     */
+    @GetMapping(params = "facets=true")
+    public FacetedPage<?> searchWithFacets(SearchParams params,
+                                           @RequestParam(required = false) List<String> fields,
+                                           @RequestParam(required = false) String view) {
+        return courseService.searchWithFacets(params.toQuery(), CourseProjection.select(fields, view));
+    }
+
+    /**
+     * Compact listing ({@code view=list}): id, title, price and next session date only.
+     */
+    @GetMapping(params = {"view=list", "facets!=true"})
+    public Page<CourseListItem> searchList(SearchParams params) {
+        return courseService.searchCourses(params.toQuery(), CourseProjection.LIST);
+    }
+
+    /**
+     * Several searches in one request, each given as the search parameters in a JSON array and
+     * answered in the same order; {@code fields} and {@code view=list} apply to all of them.
+     */
+    @PostMapping("/batch")
+    public List<? extends BatchSearchResult<?>> searchBatch(@RequestBody List<SearchParams> searches,
+                                                            @RequestParam(required = false) List<String> fields,
+                                                            @RequestParam(required = false) String view) {
+        return courseService.searchBatch(searches.stream().map(SearchParams::toQuery).toList(),
+                CourseProjection.select(fields, view));
     }
 
     @GetMapping("/suggest")
     public List<String> suggest(@RequestParam String q) {
         return courseService.suggestTitles(q);
     }
-}
\ No newline at end of file
+}
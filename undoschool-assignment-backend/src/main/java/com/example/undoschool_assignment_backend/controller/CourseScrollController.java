@@ -0,0 +1,66 @@
+package com.example.undoschool_assignment_backend.controller;
+
+import com.example.undoschool_assignment_backend.config.ExportProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.service.CourseExportService;
+import com.example.undoschool_assignment_backend.service.CourseProjection;
+import com.example.undoschool_assignment_backend.service.CourseService;
+import com.example.undoschool_assignment_backend.service.CursorPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Endpoints that walk a whole result set: cursor paging and NDJSON export.
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class CourseScrollController {
+
+    private final CourseService courseService;
+    private final CourseExportService courseExportService;
+    private final ExportProperties exportProperties;
+
+    /**
+     * First page of a cursor walk ({@code paging=cursor}); {@code page} is ignored.
+     */
+    @GetMapping(params = {"paging=cursor", "!cursor"})
+    public CursorPage<CourseDocument> searchWithCursor(SearchParams params) {
+        return courseService.searchWithCursor(params.toQuery());
+    }
+
+    /**
+     * Next page of a cursor walk; the token carries the original filters and sort.
+     */
+    @GetMapping(params = "cursor")
+    public CursorPage<CourseDocument> continueCursor(@RequestParam String cursor) {
+        return courseService.continueCursor(cursor);
+    }
+
+    /**
+     * Streams every match as NDJSON; {@code fields} restricts the exported {@code _source} fields.
+     * The stream gets {@code courses.search.export.timeout} rather than the default async timeout.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export(
+            SearchParams params,
+            @RequestParam(required = false) List<String> fields,
+            HttpServletRequest request
+    ) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest()
+                .setTimeout(exportProperties.getTimeout().toMillis());
+        CourseProjection<JsonNode> projection = CourseProjection.fields(fields == null ? List.of() : fields);
+        StreamingResponseBody body = out -> courseExportService.export(params.toQuery(), projection, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"courses.ndjson\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.undoschool_assignment_backend.controller;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.service.CourseWriteQueue;
+import com.example.undoschool_assignment_backend.service.CourseWriteResult;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Single-course writes through the {@link CourseWriteQueue}. Without {@code refresh=wait_for}
+ * a write is answered with 202 once queued and becomes searchable after the next flush and
+ * index refresh; with it the response waits until the change is searchable.
+ */
+@RestController
+@RequestMapping("/api/courses")
+@RequiredArgsConstructor
+public class CourseWriteController {
+
+    private static final String WAIT_FOR = "wait_for";
+
+    private final CourseWriteQueue writeQueue;
+
+    @PutMapping("/{id}")
+    public CompletableFuture<ResponseEntity<CourseWriteResult>> upsert(@PathVariable String id,
+                                                                       @RequestBody CourseDocument course,
+                                                                       @RequestParam(required = false) String refresh) {
+        return respond(writeQueue.upsert(id, course, WAIT_FOR.equals(refresh)));
+    }
+
+    /**
+     * Partial update: only the fields present in the body are changed.
+     */
+    @PatchMapping("/{id}")
+    public CompletableFuture<ResponseEntity<CourseWriteResult>> patch(@PathVariable String id,
+                                                                      @RequestBody ObjectNode fields,
+                                                                      @RequestParam(required = false) String refresh) {
+        return respond(writeQueue.patch(id, fields, WAIT_FOR.equals(refresh)));
+    }
+
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<CourseWriteResult>> delete(@PathVariable String id,
+                                                                       @RequestParam(required = false) String refresh) {
+        return respond(writeQueue.delete(id, WAIT_FOR.equals(refresh)));
+    }
+
+    private static CompletableFuture<ResponseEntity<CourseWriteResult>> respond(CompletableFuture<CourseWriteResult> write) {
+        return write.thenApply(result -> switch (result.result()) {
+            case "queued" -> ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+            case "created" -> ResponseEntity.status(HttpStatus.CREATED).body(result);
+            case "not_found" -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(result);
+            default -> ResponseEntity.ok(result);
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.undoschool_assignment_backend.controller;
+
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Query parameters shared by the search endpoints, bound from the request by name.
+ */
+public record SearchParams(
+        String q,
+        Integer minAge,
+        Integer maxAge,
+        String category,
+        String type,
+        Double minPrice,
+        Double maxPrice,
+        ZonedDateTime startDate,
+        String sort,
+        Integer page,
+        Integer size
+) {
+
+    public CourseSearchQuery toQuery() {
+        return CourseSearchQuery.of(q, minAge, maxAge, category, type, minPrice, maxPrice, startDate, sort,
+                page == null ? 0 : page,
+                size == null ? 10 : size);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.undoschool_assignment_backend.document;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Compact view of a course for result listings, read straight from a filtered {@code _source}.
+ */
+public record CourseListItem(
+        String id,
+        String title,
+        Double price,
+        ZonedDateTime nextSessionDate
+) {
+}
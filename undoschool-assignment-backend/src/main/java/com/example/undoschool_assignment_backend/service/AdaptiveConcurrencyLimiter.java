@@ -0,0 +1,94 @@
+package com.example.undoschool_assignment_backend.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that follows the latency of the calls it admits, after the gradient
+ * algorithm of Netflix's concurrency-limits.
+ * <p>
+ * Each completed call compares its latency with a long-term average: while calls are about as
+ * fast as usual the limit grows by its square root, the queue allowed to form, and once they get
+ * slower than {@code rttTolerance} times the average it shrinks in proportion, to at most half.
+ * A dropped call (timeout, rejection, connection failure) cuts the limit by a tenth. The limit
+ * only grows while at least half of it is in use, since latency says nothing about a limit that
+ * is not reached.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final double DROP_BACKOFF = 0.9;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    // Guarded by this.
+    private double longRtt;
+    private long samples;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double rttTolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * Admits a call if fewer than {@link #limit()} are in flight. An admitted call must be
+     * ended with {@link #onSample} or {@link #onIgnore}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Ends a call that took {@code rttNanos}, or was dropped, and adjusts the limit. */
+    public void onSample(long rttNanos, boolean dropped) {
+        int inFlightAtEnd = inFlight.getAndDecrement();
+        update(Math.max(1, rttNanos), inFlightAtEnd, dropped);
+    }
+
+    /** Ends a call whose latency says nothing about the backend's load, such as a rejected query. */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rtt, int inFlightAtEnd, boolean dropped) {
+        double current = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, current * DROP_BACKOFF);
+            return;
+        }
+        samples++;
+        longRtt = samples == 1 ? rtt : longRtt + (rtt - longRtt) / Math.min(samples, LONG_WINDOW);
+        if (longRtt > 2 * rtt) {
+            // Latency dropped well below the average, e.g. after an incident: catch up faster.
+            longRtt *= 0.95;
+        }
+        if (inFlightAtEnd < current / 2) {
+            return;
+        }
+        double gradient = Math.clamp(rttTolerance * longRtt / rtt, 0.5, 1.0);
+        double estimate = current * gradient + Math.sqrt(current);
+        limit = Math.clamp(current * (1 - smoothing) + estimate * smoothing, minLimit, maxLimit);
+    }
+}
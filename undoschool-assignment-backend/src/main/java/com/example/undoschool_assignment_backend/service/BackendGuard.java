@@ -0,0 +1,160 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.transport.TransportException;
+import com.example.undoschool_assignment_backend.config.OverloadProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for calls to the search backend: a {@link CircuitBreaker} and an
+ * {@link AdaptiveConcurrencyLimiter} shared by searches, suggestions and facets. A call either
+ * gets a permit immediately or fails with an {@link OverloadedException}; nothing queues.
+ * <p>
+ * Client errors (4xx from Elasticsearch, except 429, and bad input any backend rejected) are
+ * answers, not failures, and neither open the breaker nor shrink the limit. Published as {@code courses.backend.limit},
+ * {@code courses.backend.in.flight}, {@code courses.backend.circuit.state{state}} (1 for the
+ * current state) and {@code courses.backend.rejected{reason=limit|circuit_open}}.
+ */
+@Component
+public class BackendGuard {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final String INDEX_NOT_FOUND = "index_not_found_exception";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker breaker;
+    private final Counter limitRejections;
+    private final Counter circuitRejections;
+
+    public BackendGuard(OverloadProperties properties, MeterRegistry meterRegistry) {
+        OverloadProperties.Limiter limit = properties.getLimiter();
+        this.limiter = limit.isEnabled()
+                ? new AdaptiveConcurrencyLimiter(limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                limit.getRttTolerance(), limit.getSmoothing())
+                : null;
+        OverloadProperties.Breaker breaking = properties.getBreaker();
+        this.breaker = breaking.isEnabled()
+                ? new CircuitBreaker(breaking.getWindowSize(), breaking.getMinimumCalls(),
+                breaking.getFailureRateThreshold(), breaking.getOpenDuration(), breaking.getHalfOpenCalls(), System::nanoTime)
+                : null;
+        this.limitRejections = meterRegistry.counter("courses.backend.rejected", "reason", "limit");
+        this.circuitRejections = meterRegistry.counter("courses.backend.rejected", "reason", "circuit_open");
+        if (limiter != null) {
+            Gauge.builder("courses.backend.limit", limiter, AdaptiveConcurrencyLimiter::limit).register(meterRegistry);
+            Gauge.builder("courses.backend.in.flight", limiter, AdaptiveConcurrencyLimiter::inFlight).register(meterRegistry);
+        }
+        if (breaker != null) {
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("courses.backend.circuit.state", breaker, b -> b.state() == state ? 1 : 0)
+                        .tag("state", state.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code call} if admitted, otherwise returns a future failed with an
+     * {@link OverloadedException}.
+     */
+    public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+        Permit permit;
+        try {
+            permit = acquire();
+        } catch (OverloadedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        try {
+            return call.get().whenComplete((result, failure) -> permit.release(failure));
+        } catch (RuntimeException e) {
+            permit.release(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Admits one call, to be ended with {@link Permit#release}, or throws an
+     * {@link OverloadedException}.
+     */
+    public Permit acquire() {
+        if (breaker != null && !breaker.tryAcquire()) {
+            circuitRejections.increment();
+            throw new OverloadedException("circuit_open");
+        }
+        if (limiter != null && !limiter.tryAcquire()) {
+            if (breaker != null) {
+                breaker.onCancel();
+            }
+            limitRejections.increment();
+            throw new OverloadedException("limit");
+        }
+        return new Permit(System.nanoTime());
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return breaker != null ? breaker.state() : CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * Whether {@code failure} says the backend is unhealthy rather than that the request was wrong:
+     * I/O errors and timeouts, 5xx and 429 answers, a missing index and calls shed by this guard.
+     * Anything else, including bad input a backend rejected, is a client error.
+     */
+    static boolean isBackendFailure(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof ElasticsearchException e) {
+            return isBackendStatus(e.status()) || INDEX_NOT_FOUND.equals(e.error().type());
+        }
+        if (cause instanceof TransportException e) {
+            // No status at all when the request never got an answer.
+            return e.statusCode() <= 0 || isBackendStatus(e.statusCode());
+        }
+        if (cause instanceof ResponseStatusException e) {
+            return isBackendStatus(e.getStatusCode().value());
+        }
+        return cause instanceof IOException || cause instanceof UncheckedIOException || cause instanceof TimeoutException;
+    }
+
+    private static boolean isBackendStatus(int status) {
+        return status >= 500 || status == TOO_MANY_REQUESTS;
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /** Ends the call, successful if {@code failure} is null. */
+        public void release(Throwable failure) {
+            boolean failed = failure != null && isBackendFailure(failure);
+            if (limiter != null) {
+                if (failure != null && !failed) {
+                    limiter.onIgnore();
+                } else {
+                    limiter.onSample(System.nanoTime() - startNanos, failed);
+                }
+            }
+            if (breaker != null) {
+                if (failed) {
+                    breaker.onFailure();
+                } else {
+                    breaker.onSuccess();
+                }
+            }
+        }
+    }
+}
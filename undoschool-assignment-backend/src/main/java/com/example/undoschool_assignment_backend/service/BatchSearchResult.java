@@ -0,0 +1,20 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Page;
+
+/**
+ * The outcome of one search of a batch: {@code status} 200 with its {@code page}, or the status
+ * and {@code error} message it would have failed with on its own.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchSearchResult<T>(int status, Page<T> page, String error) {
+
+    public static <T> BatchSearchResult<T> ok(Page<T> page) {
+        return new BatchSearchResult<>(200, page, null);
+    }
+
+    public static <T> BatchSearchResult<T> failed(int status, String error) {
+        return new BatchSearchResult<>(status, null, error);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.example.undoschool_assignment_backend.config.IngestionProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Entry point for loading courses into Elasticsearch in bounded, chunked bulk requests.
+ * Use {@link #open(String)} to stream documents of unknown count, or {@link #ingest} when
+ * the documents are already at hand.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkIngestionService {
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final IngestionProperties properties;
+    private final IndexGeneration indexGeneration;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("bulk-retry").daemon().factory());
+
+    public IngestionSession open(String index) throws IOException {
+        return new IngestionSession(elasticsearchClient, properties, index, retryScheduler, eventPublisher,
+                indexGeneration::advance);
+    }
+
+    public IngestionReport ingest(String index, Iterable<CourseDocument> courses) throws IOException {
+        IngestionSession session = open(index);
+        try (session) {
+            for (CourseDocument course : courses) {
+                session.index(course);
+            }
+        }
+        IngestionReport report = session.finish();
+        logReport(index, report);
+        return report;
+    }
+
+    public void logReport(String index, IngestionReport report) {
+        log.info("Ingested into '{}' in {} ms: {} indexed, {} deleted, {} failed, {} retries",
+                index, report.took().toMillis(), report.indexed(), report.deleted(), report.failed(), report.retried());
+        for (IngestionReport.ItemFailure failure : report.failures()) {
+            log.warn("Failed to ingest course {} into '{}': [{}] {}", failure.id(), index, failure.status(), failure.reason());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+}
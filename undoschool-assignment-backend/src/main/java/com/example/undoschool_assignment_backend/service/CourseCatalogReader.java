@@ -0,0 +1,71 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a course catalog one document at a time. Both a top-level JSON array and
+ * newline-delimited JSON are accepted, so only the document currently being handed to the
+ * consumer is held in memory no matter how large the file is.
+ */
+@Slf4j
+@Component
+public class CourseCatalogReader {
+
+    private final ObjectReader courseReader;
+    private final ResourceLoader resourceLoader;
+
+    public CourseCatalogReader(ObjectMapper objectMapper, ResourceLoader resourceLoader) {
+        this.courseReader = objectMapper.readerFor(CourseDocument.class);
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * Opens a lazy iterator over the catalog at {@code location}; the caller must close it.
+     */
+    public MappingIterator<CourseDocument> open(String location) throws IOException {
+        Resource resource = resolve(location);
+        InputStream in = new BufferedInputStream(resource.getInputStream());
+        if (location.endsWith(".gz")) {
+            in = new GZIPInputStream(in);
+        }
+        return courseReader.readValues(in);
+    }
+
+    /**
+     * Streams every course in the catalog to {@code consumer} and returns how many were read.
+     */
+    public long read(String location, Consumer<CourseDocument> consumer) throws IOException {
+        long count = 0;
+        try (MappingIterator<CourseDocument> courses = open(location)) {
+            while (courses.hasNextValue()) {
+                consumer.accept(courses.nextValue());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Resource resolve(String location) throws IOException {
+        String qualified = location.contains(":") && !location.matches("^[A-Za-z]:[\\\\/].*")
+                ? location
+                : "file:" + location;
+        Resource resource = resourceLoader.getResource(qualified);
+        if (!resource.exists()) {
+            throw new IOException("Course catalog not found: " + location);
+        }
+        return resource;
+    }
+}
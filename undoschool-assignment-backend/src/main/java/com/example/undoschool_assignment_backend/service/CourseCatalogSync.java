@@ -0,0 +1,231 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import com.example.undoschool_assignment_backend.config.CatalogProperties;
+import com.example.undoschool_assignment_backend.config.CatalogProperties.SyncMode;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Brings an index in line with the catalog. In {@link SyncMode#INCREMENTAL} mode the content
+ * hash of every catalog document is compared with the fingerprint recorded by the previous
+ * sync: unchanged courses are skipped, new and changed ones are indexed and courses that
+ * disappeared from the catalog are deleted. Any doubt about the stored fingerprints (missing
+ * file, different index, document count mismatch) falls back to a full sync.
+ * <p>
+ * Courses written through the API take precedence over the catalog: their entries in the
+ * {@link CourseWriteLog} replace the catalog version, and a logged delete keeps the course out
+ * of the index, so a sync never reverts an acknowledged write.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseCatalogSync {
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final BulkIngestionService bulkIngestionService;
+    private final CourseCatalogReader catalogReader;
+    private final CourseFingerprintStore fingerprintStore;
+    private final CourseWriteLog writeLog;
+    private final CatalogProperties catalogProperties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public SyncReport sync(String index) throws IOException {
+        return sync(index, read -> { });
+    }
+
+    /**
+     * Like {@link #sync(String)}, passing {@code progress} the number of catalog courses read so
+     * far after each one.
+     */
+    public SyncReport sync(String index, LongConsumer progress) throws IOException {
+        String indexUuid = indexUuid(index);
+        Map<String, Long> previous = previousFingerprints(index, indexUuid).orElse(null);
+        boolean incremental = previous != null;
+        Map<String, Long> current = new HashMap<>(incremental ? previous.size() * 2 : 1024);
+        Map<String, Long> removed = incremental ? previous : Map.of();
+        MessageDigest digest = sha256();
+        long[] counts = new long[4];
+        Map<String, CourseDocument> written = writeLog.load();
+
+        String location = catalogProperties.getLocation();
+        log.info("Syncing '{}' from {} and {} courses written through the API ({} mode)",
+                index, location, written.size(), incremental ? "incremental" : "full");
+        IngestionSession session = bulkIngestionService.open(index);
+        try (session) {
+            Consumer<CourseDocument> apply = course -> {
+                course.buildSuggest();
+                long hash = contentHash(course, digest);
+                current.put(course.getId(), hash);
+                Long known = incremental ? previous.remove(course.getId()) : null;
+                if (known != null && known == hash) {
+                    counts[0]++;
+                    return;
+                }
+                counts[known == null ? 1 : 2]++;
+                session.index(course);
+            };
+            catalogReader.read(location, course -> {
+                progress.accept(++counts[3]);
+                if (!written.containsKey(course.getId())) {
+                    apply.accept(course);
+                }
+            });
+            written.forEach((id, course) -> {
+                if (course != null) {
+                    apply.accept(course);
+                } else if (!incremental) {
+                    session.delete(id);
+                }
+            });
+            if (incremental) {
+                // Includes courses deleted through the API, which were never put in current.
+                previous.keySet().forEach(session::delete);
+            }
+        }
+        IngestionReport ingestion = session.finish();
+        bulkIngestionService.logReport(index, ingestion);
+
+        SyncReport report = new SyncReport(
+                incremental,
+                counts[1],
+                counts[2],
+                counts[0],
+                ingestion.deleted(),
+                ingestion.failed()
+        );
+        record(report);
+        saveFingerprints(index, current, removed, ingestion);
+        log.info("Sync of '{}' complete: {} created, {} updated, {} skipped, {} deleted, {} failed",
+                index, report.created(), report.updated(), report.skipped(), report.deleted(), report.failed());
+        return report;
+    }
+
+    /**
+     * Applies the whole {@link CourseWriteLog} to {@code index} and returns how many courses it
+     * covered. {@link CourseIndexManager} runs it right before moving the alias, to take over
+     * writes acknowledged on the old version after {@link #sync} read the log.
+     */
+    public long replayWrites(String index) throws IOException {
+        Map<String, CourseDocument> written = writeLog.load();
+        if (written.isEmpty()) {
+            return 0;
+        }
+        IngestionSession session = bulkIngestionService.open(index);
+        try (session) {
+            written.forEach((id, course) -> {
+                if (course != null) {
+                    course.buildSuggest();
+                    session.index(course);
+                } else {
+                    session.delete(id);
+                }
+            });
+        }
+        IngestionReport ingestion = session.finish();
+        if (ingestion.failed() > 0) {
+            throw new IOException(ingestion.failed() + " courses written through the API failed to replay into '" + index + "'");
+        }
+        log.info("Replayed {} courses written through the API into '{}'", written.size(), index);
+        return written.size();
+    }
+
+    private Optional<Map<String, Long>> previousFingerprints(String index, String indexUuid) throws IOException {
+        if (catalogProperties.getSync() != SyncMode.INCREMENTAL || indexUuid == null) {
+            return Optional.empty();
+        }
+        Optional<Map<String, Long>> stored = fingerprintStore.load(catalogProperties.getFingerprintFile(), indexUuid);
+        if (stored.isPresent()) {
+            long documents = elasticsearchClient.count(c -> c.index(index)).count();
+            if (documents != stored.get().size()) {
+                log.warn("'{}' holds {} documents but {} fingerprints are recorded, running a full sync",
+                        index, documents, stored.get().size());
+                return Optional.empty();
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * Records the fingerprints of what the index now holds. A course whose write failed is
+     * forgotten so the next sync indexes it again; a course whose delete failed keeps its old
+     * fingerprint as a tombstone, so the next sync still finds it missing from the catalog and
+     * retries the delete (and the document count keeps matching the recorded fingerprints).
+     */
+    private void saveFingerprints(String index, Map<String, Long> fingerprints, Map<String, Long> removed,
+                                  IngestionReport ingestion) throws IOException {
+        if (ingestion.failed() > ingestion.failures().size()) {
+            log.warn("Too many failures to tell which courses are current, not recording fingerprints for '{}'", index);
+            return;
+        }
+        for (IngestionReport.ItemFailure failure : ingestion.failures()) {
+            Long tombstone = removed.get(failure.id());
+            if (tombstone != null) {
+                fingerprints.put(failure.id(), tombstone);
+            } else {
+                fingerprints.remove(failure.id());
+            }
+        }
+        String indexUuid = indexUuid(index);
+        if (indexUuid != null) {
+            fingerprintStore.save(catalogProperties.getFingerprintFile(), indexUuid, fingerprints);
+        }
+    }
+
+    private void record(SyncReport report) {
+        meterRegistry.counter("courses.sync.documents", "outcome", "created").increment(report.created());
+        meterRegistry.counter("courses.sync.documents", "outcome", "updated").increment(report.updated());
+        meterRegistry.counter("courses.sync.documents", "outcome", "skipped").increment(report.skipped());
+        meterRegistry.counter("courses.sync.documents", "outcome", "deleted").increment(report.deleted());
+        meterRegistry.counter("courses.sync.documents", "outcome", "failed").increment(report.failed());
+    }
+
+    private String indexUuid(String index) throws IOException {
+        for (IndexState state : elasticsearchClient.indices().getSettings(g -> g.index(index)).result().values()) {
+            IndexSettings settings = state.settings();
+            if (settings != null && settings.index() != null) {
+                return settings.index().uuid();
+            }
+            if (settings != null) {
+                return settings.uuid();
+            }
+        }
+        return null;
+    }
+
+    private long contentHash(CourseDocument course, MessageDigest digest) {
+        try {
+            byte[] hash = digest.digest(objectMapper.writeValueAsBytes(course));
+            return ByteBuffer.wrap(hash).getLong();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
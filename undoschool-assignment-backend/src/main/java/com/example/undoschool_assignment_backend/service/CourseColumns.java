@@ -0,0 +1,267 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable, column-per-field copy of the catalog that answers structured searches (no
+ * search text) without Elasticsearch.
+ * <p>
+ * Category and type are dictionary-encoded with one {@link BitSet} of rows per value. Ages,
+ * prices and session dates are kept as permutations of the rows sorted by that value, computed
+ * once at build time, next to the sorted values. A search ANDs the bitsets of its filters,
+ * resolving age, price and date ranges by binary search over the sorted values, then walks the
+ * sort permutation until the requested page is filled. Equal sort values are ordered by id, where
+ * Elasticsearch falls back to index order.
+ */
+public final class CourseColumns {
+
+    public static final CourseColumns EMPTY = build(List.of());
+
+    private final CourseDocument[] courses;
+    private final Map<String, BitSet> categories;
+    private final Map<String, BitSet> types;
+    private final int[] byMinAge;
+    private final long[] sortedMinAges;
+    private final int[] byMaxAge;
+    private final long[] sortedMaxAges;
+    private final int[] byPriceAsc;
+    private final int[] byPriceDesc;
+    private final double[] sortedPrices;
+    private final int[] byNextSession;
+    private final long[] sortedNextSessions;
+
+    private CourseColumns(CourseDocument[] courses) {
+        int size = courses.length;
+        this.courses = courses;
+        this.categories = dictionary(courses, CourseDocument::getCategory);
+        this.types = dictionary(courses, CourseDocument::getType);
+        long[] minAge = new long[size];
+        long[] maxAge = new long[size];
+        BitSet hasMinAge = new BitSet(size);
+        BitSet hasMaxAge = new BitSet(size);
+        double[] price = new double[size];
+        long[] nextSession = new long[size];
+        BitSet hasPrice = new BitSet(size);
+        BitSet hasNextSession = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            CourseDocument course = courses[row];
+            if (course.getMinAge() != null) {
+                minAge[row] = course.getMinAge();
+                hasMinAge.set(row);
+            }
+            if (course.getMaxAge() != null) {
+                maxAge[row] = course.getMaxAge();
+                hasMaxAge.set(row);
+            }
+            if (course.getPrice() != null) {
+                price[row] = course.getPrice();
+                hasPrice.set(row);
+            }
+            if (course.getNextSessionDate() != null) {
+                nextSession[row] = course.getNextSessionDate().toInstant().toEpochMilli();
+                hasNextSession.set(row);
+            }
+        }
+        // Rows are in id order, so a stable sort on the value alone breaks ties by id.
+        this.byPriceAsc = permutation(hasPrice, size, Comparator.comparingDouble(row -> price[row]));
+        this.byPriceDesc = permutation(hasPrice, size, Comparator.comparingDouble(row -> -price[row]));
+        this.byNextSession = permutation(hasNextSession, size, Comparator.comparingLong(row -> nextSession[row]));
+        this.byMinAge = permutation(hasMinAge, size, Comparator.comparingLong(row -> minAge[row]));
+        this.byMaxAge = permutation(hasMaxAge, size, Comparator.comparingLong(row -> maxAge[row]));
+        this.sortedPrices = new double[hasPrice.cardinality()];
+        for (int i = 0; i < sortedPrices.length; i++) {
+            sortedPrices[i] = price[byPriceAsc[i]];
+        }
+        this.sortedNextSessions = sorted(nextSession, byNextSession, hasNextSession.cardinality());
+        this.sortedMinAges = sorted(minAge, byMinAge, hasMinAge.cardinality());
+        this.sortedMaxAges = sorted(maxAge, byMaxAge, hasMaxAge.cardinality());
+    }
+
+    /**
+     * Columns over {@code courses}; courses without an id are skipped.
+     */
+    public static CourseColumns build(Collection<CourseDocument> courses) {
+        CourseDocument[] rows = courses.stream()
+                .filter(course -> course.getId() != null)
+                .sorted(Comparator.comparing(CourseDocument::getId))
+                .toArray(CourseDocument[]::new);
+        return new CourseColumns(rows);
+    }
+
+    public int size() {
+        return courses.length;
+    }
+
+    /**
+     * The page of courses matching the filters of {@code query} in its sort order, with the
+     * total number of matches. The search text, if any, is ignored.
+     */
+    public Result search(CourseSearchQuery query) {
+        BitSet matches = filter(query);
+        int total = matches.cardinality();
+        int from = query.page() * query.size();
+        if (query.size() <= 0 || from >= total) {
+            return new Result(List.of(), total);
+        }
+        int[] order = order(query);
+        CourseDocument[] page = new CourseDocument[Math.min(query.size(), total - from)];
+        int seen = 0;
+        int filled = 0;
+        for (int i = 0; i < order.length && filled < page.length; i++) {
+            int row = order[i];
+            if (matches.get(row) && seen++ >= from) {
+                page[filled++] = courses[row];
+            }
+        }
+        return new Result(Arrays.asList(page), total);
+    }
+
+    private BitSet filter(CourseSearchQuery query) {
+        BitSet matches = new BitSet(courses.length);
+        matches.set(0, courses.length);
+        if (query.category() != null) {
+            matches.and(categories.getOrDefault(query.category(), new BitSet()));
+        }
+        if (query.type() != null) {
+            matches.and(types.getOrDefault(query.type(), new BitSet()));
+        }
+        if (query.minPrice() != null || query.maxPrice() != null) {
+            double lower = query.minPrice() != null ? query.minPrice() : Double.NEGATIVE_INFINITY;
+            double upper = query.maxPrice() != null ? query.maxPrice() : Double.POSITIVE_INFINITY;
+            matches.and(rows(byPriceAsc, lowerBound(sortedPrices, lower), upperBound(sortedPrices, upper)));
+        }
+        if (query.startDate() != null) {
+            long start = query.startDate().toInstant().toEpochMilli();
+            matches.and(rows(byNextSession, lowerBound(sortedNextSessions, start), sortedNextSessions.length));
+        }
+        // A course fits the requested ages if its own range overlaps them.
+        if (query.minAge() != null) {
+            matches.and(rows(byMaxAge, lowerBound(sortedMaxAges, query.minAge()), sortedMaxAges.length));
+        }
+        if (query.maxAge() != null) {
+            matches.and(rows(byMinAge, 0, upperBound(sortedMinAges, query.maxAge())));
+        }
+        return matches;
+    }
+
+    private int[] order(CourseSearchQuery query) {
+        if (CourseSearchQuery.SORT_PRICE_ASC.equals(query.sort())) {
+            return byPriceAsc;
+        }
+        if (CourseSearchQuery.SORT_PRICE_DESC.equals(query.sort())) {
+            return byPriceDesc;
+        }
+        return byNextSession;
+    }
+
+    private BitSet rows(int[] order, int from, int to) {
+        BitSet rows = new BitSet(courses.length);
+        for (int i = from; i < to; i++) {
+            rows.set(order[i]);
+        }
+        return rows;
+    }
+
+    /**
+     * Rows that have a value, sorted by {@code comparator}, followed by the rows without one,
+     * so that missing values sort last as they do in Elasticsearch.
+     */
+    private static int[] permutation(BitSet present, int size, Comparator<Integer> comparator) {
+        int[] withValue = present.stream().boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+        int[] missing = IntStream.range(0, size).filter(row -> !present.get(row)).toArray();
+        int[] order = Arrays.copyOf(withValue, size);
+        System.arraycopy(missing, 0, order, withValue.length, missing.length);
+        return order;
+    }
+
+    /** The first {@code count} values of {@code column} in {@code order}: the rows that have one. */
+    private static long[] sorted(long[] column, int[] order, int count) {
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = column[order[i]];
+        }
+        return sorted;
+    }
+
+    private static Map<String, BitSet> dictionary(CourseDocument[] courses, Function<CourseDocument, String> field) {
+        Map<String, BitSet> rows = new HashMap<>();
+        for (int row = 0; row < courses.length; row++) {
+            String value = field.apply(courses[row]);
+            if (value != null) {
+                rows.computeIfAbsent(value, v -> new BitSet(courses.length)).set(row);
+            }
+        }
+        return Map.copyOf(rows);
+    }
+
+    /** The first index whose value is {@code >= key}. */
+    private static int lowerBound(double[] sorted, double key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** The first index whose value is {@code > key}. */
+    private static int upperBound(double[] sorted, double key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public record Result(List<CourseDocument> courses, long total) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Streams every course matching a query as newline-delimited JSON. Documents are read under a
+ * point-in-time one batch at a time and written straight to the output stream as raw
+ * {@code _source} trees, so memory use does not depend on the size of the result. A slow
+ * reader blocks the write, which in turn holds back the next batch from Elasticsearch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseExportService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final CourseIndexScanner scanner;
+    private final CourseQueryBuilder queryBuilder;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes the matches of {@code query} to {@code out}, restricted to the fields of
+     * {@code projection}, and returns how many documents were written. The stream is flushed, not closed.
+     * A failing read from Elasticsearch is the usual 503; a failing write to {@code out} is
+     * rethrown as the {@link IOException} it is.
+     */
+    public long export(CourseSearchQuery query, CourseProjection<JsonNode> projection, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are separated by the '\n' written below; the default separator would indent every line but the first.
+        generator.setRootValueSeparator(null);
+        try (generator) {
+            long written;
+            try {
+                written = scanner.scan(CourseIndexManager.ALIAS, queryBuilder.query(query),
+                        projection.includes(), projection.excludes(),
+                        BATCH_SIZE, JsonNode.class, source -> {
+                            try {
+                                generator.writeTree(source);
+                                generator.writeRaw('\n');
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            } catch (IOException | ElasticsearchException e) {
+                throw CourseService.failure("Export", e);
+            }
+            log.info("Exported {} courses", written);
+            return written;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
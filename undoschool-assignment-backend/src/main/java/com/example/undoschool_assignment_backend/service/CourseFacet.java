@@ -0,0 +1,23 @@
+package com.example.undoschool_assignment_backend.service;
+
+/**
+ * Dimensions a search can be narrowed by and counted on. The name is the aggregation name
+ * and the key in the {@code facets} response object.
+ */
+public enum CourseFacet {
+    CATEGORY("category"),
+    TYPE("type"),
+    PRICE("price"),
+    AGE("age"),
+    NEXT_SESSION_DATE("nextSessionDate");
+
+    private final String key;
+
+    CourseFacet(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
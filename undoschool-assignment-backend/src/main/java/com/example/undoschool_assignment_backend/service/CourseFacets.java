@@ -0,0 +1,139 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.CalendarInterval;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.FiltersBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.HistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
+import co.elastic.clients.json.JsonData;
+import com.example.undoschool_assignment_backend.config.FacetProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the facet aggregations for a query and reads their buckets back. Every facet is a
+ * {@code filter} aggregation over all of the query's filters except the facet's own, with the
+ * bucketing aggregation nested under {@link #BUCKETS}; the hits themselves are narrowed by a
+ * {@code post_filter}, which does not affect aggregations.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseFacets {
+
+    private static final String BUCKETS = "buckets";
+
+    private final CourseQueryBuilder queryBuilder;
+    private final FacetProperties properties;
+
+    public Map<String, Aggregation> aggregations(CourseSearchQuery query) {
+        Map<CourseFacet, List<Query>> filters = queryBuilder.facetFilters(query);
+        Map<String, Aggregation> aggregations = new LinkedHashMap<>();
+        for (CourseFacet facet : CourseFacet.values()) {
+            BoolQuery.Builder others = new BoolQuery.Builder();
+            filters.forEach((other, clauses) -> {
+                if (other != facet) {
+                    others.filter(clauses);
+                }
+            });
+            Query scope = others.build()._toQuery();
+            aggregations.put(facet.key(), Aggregation.of(a -> a
+                    .filter(scope)
+                    .aggregations(BUCKETS, buckets(facet))
+            ));
+        }
+        return aggregations;
+    }
+
+    public Facets read(Map<String, Aggregate> aggregations) {
+        Map<String, List<Facets.Bucket>> facets = new LinkedHashMap<>();
+        for (CourseFacet facet : CourseFacet.values()) {
+            Aggregate buckets = aggregations.get(facet.key()).filter().aggregations().get(BUCKETS);
+            facets.put(facet.key(), read(facet, buckets));
+        }
+        return new Facets(facets);
+    }
+
+    private Aggregation buckets(CourseFacet facet) {
+        return switch (facet) {
+            case CATEGORY -> Aggregation.of(a -> a.terms(t -> t
+                    .field(queryBuilder.filterFields().category())
+                    .size(properties.getTermsSize())));
+            case TYPE -> Aggregation.of(a -> a.terms(t -> t
+                    .field(queryBuilder.filterFields().type())
+                    .size(properties.getTermsSize())));
+            case PRICE -> Aggregation.of(a -> a.histogram(h -> h
+                    .field("price")
+                    .interval(properties.getPriceInterval())
+                    .minDocCount(1)));
+            case AGE -> Aggregation.of(a -> a.filters(f -> f
+                    .filters(b -> b.keyed(ageBandFilters()))));
+            case NEXT_SESSION_DATE -> Aggregation.of(a -> a.dateHistogram(d -> d
+                    .field("nextSessionDate")
+                    .calendarInterval(CalendarInterval.Month)
+                    .minDocCount(1)));
+        };
+    }
+
+    private List<Facets.Bucket> read(CourseFacet facet, Aggregate aggregate) {
+        List<Facets.Bucket> buckets = new ArrayList<>();
+        switch (facet) {
+            case CATEGORY, TYPE -> {
+                for (StringTermsBucket bucket : aggregate.sterms().buckets().array()) {
+                    buckets.add(Facets.Bucket.of(bucket.key().stringValue(), bucket.docCount()));
+                }
+            }
+            case PRICE -> {
+                for (HistogramBucket bucket : aggregate.histogram().buckets().array()) {
+                    double from = bucket.key();
+                    buckets.add(new Facets.Bucket(String.valueOf(from), bucket.docCount(),
+                            from, from + properties.getPriceInterval()));
+                }
+            }
+            case AGE -> {
+                Map<String, FiltersBucket> keyed = aggregate.filters().buckets().keyed();
+                for (String band : properties.getAgeBands()) {
+                    int[] bounds = ageBand(band);
+                    buckets.add(new Facets.Bucket(band, keyed.get(band).docCount(), bounds[0], bounds[1]));
+                }
+            }
+            case NEXT_SESSION_DATE -> {
+                for (DateHistogramBucket bucket : aggregate.dateHistogram().buckets().array()) {
+                    ZonedDateTime from = Instant.ofEpochMilli(bucket.key()).atZone(ZoneOffset.UTC);
+                    String key = from.toInstant().toString();
+                    buckets.add(new Facets.Bucket(key, bucket.docCount(), key, from.plusMonths(1).toInstant().toString()));
+                }
+            }
+        }
+        return buckets;
+    }
+
+    private Map<String, Query> ageBandFilters() {
+        Map<String, Query> filters = new LinkedHashMap<>();
+        for (String band : properties.getAgeBands()) {
+            int[] bounds = ageBand(band);
+            filters.put(band, BoolQuery.of(b -> b
+                    .filter(RangeQuery.of(r -> r.field("maxAge").gte(JsonData.of(bounds[0])))._toQuery())
+                    .filter(RangeQuery.of(r -> r.field("minAge").lte(JsonData.of(bounds[1])))._toQuery())
+            )._toQuery());
+        }
+        return filters;
+    }
+
+    private static int[] ageBand(String band) {
+        String[] parts = band.split("-");
+        return new int[]{Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim())};
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.undoschool_assignment_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Persists the course id to content hash table of the last sync as a small tab-separated file.
+ * The header records the UUID of the index the fingerprints describe, so a deleted or
+ * recreated index is never mistaken for one that is already up to date.
+ */
+@Slf4j
+@Component
+public class CourseFingerprintStore {
+
+    private static final String HEADER_PREFIX = "# index-uuid=";
+
+    /**
+     * Returns the stored fingerprints, or empty when there are none or they were written for
+     * a different index.
+     */
+    public Optional<Map<String, Long>> load(Path file, String indexUuid) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.equals(HEADER_PREFIX + indexUuid)) {
+                log.info("Fingerprints in {} do not belong to index {}, ignoring them", file, indexUuid);
+                return Optional.empty();
+            }
+            Map<String, Long> fingerprints = new HashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tab = line.lastIndexOf('\t');
+                if (tab > 0) {
+                    fingerprints.put(line.substring(0, tab), Long.parseUnsignedLong(line.substring(tab + 1), 16));
+                }
+            }
+            return Optional.of(fingerprints);
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void save(Path file, String indexUuid, Map<String, Long> fingerprints) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            writer.write(HEADER_PREFIX + indexUuid);
+            writer.newLine();
+            for (Map.Entry<String, Long> entry : fingerprints.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write('\t');
+                writer.write(Long.toHexString(entry.getValue()));
+                writer.newLine();
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,318 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import com.example.undoschool_assignment_backend.config.IndexProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Owns the {@code courses} read alias and the versioned {@code courses_v{n}} indices behind it.
+ * A rebuild loads the catalog into a fresh version with replicas and refresh switched off,
+ * force-merges and warms it up, and only then swaps the alias in a single atomic request, so
+ * searches never see a half-built index. The previous version is kept for {@link #rollback()}:
+ * the same request moves the {@code courses_rollback} alias onto it, and expired versions are
+ * deleted oldest first but never the live index or the one behind that alias.
+ * <p>
+ * While the alias is being moved, the index it points away from carries a write block. The block
+ * is enforced by Elasticsearch, so it stops the write queue of every instance at the moment it is
+ * set: blocked writes are held and retried, and reach the new version once the alias points at it.
+ * Writes acknowledged just before the block are taken over by replaying the {@link CourseWriteLog}
+ * into the new version right before the swap.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseIndexManager {
+
+    public static final String ALIAS = "courses";
+
+    /** Points at the index that was live before the last swap, the target of the next rollback. */
+    public static final String ROLLBACK_ALIAS = ALIAS + "_rollback";
+
+    private static final Pattern VERSIONED = Pattern.compile(Pattern.quote(ALIAS) + "_v(\\d+)");
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final CourseCatalogSync catalogSync;
+    private final CourseIndexTemplate indexTemplate;
+    private final IndexProperties indexProperties;
+    private final IndexGeneration indexGeneration;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** Set while a rebuild or rollback is moving the alias; only one may run at a time. */
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * Applies the {@link CourseIndexTemplate} and makes sure the alias exists, creating
+     * {@code courses_v1} behind it on first start. Returns the index the alias points at.
+     */
+    public synchronized String ensureIndex() throws IOException {
+        indexTemplate.apply();
+        String active = activeIndex();
+        if (ALIAS.equals(active)) {
+            log.warn("'{}' is a concrete index rather than an alias; run a rebuild to migrate it to a versioned index", ALIAS);
+        }
+        if (active != null) {
+            return active;
+        }
+        String index = versionName(1);
+        createIndex(index, s -> s);
+        elasticsearchClient.indices().updateAliases(u -> u.actions(a -> a.add(add -> add.index(index).alias(ALIAS))));
+        log.info("Created Elasticsearch index '{}' behind alias '{}'", index, ALIAS);
+        return index;
+    }
+
+    public IndexStatus status() throws IOException {
+        return new IndexStatus(ALIAS, activeIndex(), versions().stream().map(CourseIndexManager::versionName).toList());
+    }
+
+    /**
+     * Builds a new index version from the catalog and atomically points the alias at it.
+     */
+    public RebuildResult rebuild() throws IOException {
+        claim();
+        long start = System.nanoTime();
+        String blocked = null;
+        boolean swapped = false;
+        try {
+            String previous = activeIndex();
+            if (previous != null) {
+                blockWrites(previous);
+                blocked = previous;
+            }
+            List<Integer> versions = versions();
+            String next = versionName(versions.isEmpty() ? 1 : versions.get(versions.size() - 1) + 1);
+
+            log.info("Rebuilding '{}' into '{}' (currently '{}')", ALIAS, next, previous);
+            indexTemplate.apply();
+            createIndex(next, s -> s
+                    .numberOfReplicas("0")
+                    .refreshInterval(t -> t.time("-1"))
+            );
+            SyncReport sync;
+            try {
+                sync = catalogSync.sync(next);
+                if (sync.failed() > 0) {
+                    throw new IOException(sync.failed() + " courses failed to index into '" + next + "'");
+                }
+                catalogSync.replayWrites(next);
+                elasticsearchClient.indices().forcemerge(f -> f.index(next).maxNumSegments(1L));
+                elasticsearchClient.indices().putSettings(p -> p
+                        .index(next)
+                        .settings(s -> s
+                                .numberOfReplicas(String.valueOf(indexProperties.getNumberOfReplicas()))
+                                .refreshInterval(t -> t.time(indexProperties.getRefreshInterval()))
+                        )
+                );
+                elasticsearchClient.indices().refresh(r -> r.index(next));
+                warmUp(next);
+            } catch (IOException | RuntimeException e) {
+                log.error("Rebuild into '{}' failed, alias '{}' left on '{}'", next, ALIAS, previous, e);
+                elasticsearchClient.indices().delete(d -> d.index(next));
+                throw e;
+            }
+
+            swapAlias(previous, next);
+            swapped = true;
+            deleteExpiredVersions(next, previous);
+            return new RebuildResult(previous, next, sync, Duration.ofNanos(System.nanoTime() - start));
+        } finally {
+            releaseWrites(blocked, swapped);
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Points the alias back at the index that was live before the last rebuild or rollback (the
+     * newest version older than the live one if that is unknown), with the {@link CourseWriteLog}
+     * replayed into it so API writes made since are kept.
+     */
+    public RebuildResult rollback() throws IOException {
+        claim();
+        long start = System.nanoTime();
+        String blocked = null;
+        boolean swapped = false;
+        try {
+            String active = activeIndex();
+            String target = rollbackTarget(versionOf(active));
+            blockWrites(active);
+            blocked = active;
+            // Left blocked if a rebuild away from it was interrupted.
+            unblockWrites(target);
+            catalogSync.replayWrites(target);
+            swapAlias(active, target);
+            swapped = true;
+            return new RebuildResult(active, target, null, Duration.ofNanos(System.nanoTime() - start));
+        } finally {
+            releaseWrites(blocked, swapped);
+            rebuilding.set(false);
+        }
+    }
+
+    private String rollbackTarget(Integer activeVersion) throws IOException {
+        List<Integer> versions = versions();
+        Integer previous = versionOf(aliasTarget(ROLLBACK_ALIAS));
+        if (previous != null && !previous.equals(activeVersion) && versions.contains(previous)) {
+            return versionName(previous);
+        }
+        return versions.stream()
+                .filter(v -> activeVersion == null || v < activeVersion)
+                .max(Comparator.naturalOrder())
+                .map(CourseIndexManager::versionName)
+                .orElseThrow(() -> new IndexConflictException("No earlier version of '" + ALIAS + "' to roll back to"));
+    }
+
+    /**
+     * Stops writes to {@code index} from every instance; the write queue holds and retries them.
+     */
+    private void blockWrites(String index) throws IOException {
+        elasticsearchClient.indices().putSettings(p -> p
+                .index(index)
+                .settings(s -> s.blocks(b -> b.write(true))));
+    }
+
+    /**
+     * Lifts the block set on the index the alias was moving away from; a legacy concrete index
+     * is removed by the swap, so there is nothing left to unblock.
+     */
+    private void releaseWrites(String blocked, boolean swapped) {
+        if (blocked != null && !(swapped && blocked.equals(ALIAS))) {
+            unblockWrites(blocked);
+        }
+    }
+
+    private void unblockWrites(String index) {
+        try {
+            elasticsearchClient.indices().putSettings(p -> p
+                    .index(index)
+                    .settings(s -> s.blocks(b -> b.write(false))));
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not lift the write block on '{}'; the next rebuild or rollback lifts it", index, e);
+        }
+    }
+
+    private void claim() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IndexConflictException("A rebuild or rollback of '" + ALIAS + "' is already running");
+        }
+    }
+
+    /**
+     * Creates {@code index} from the template, with {@code settings} overriding its settings.
+     */
+    private void createIndex(String index, Function<IndexSettings.Builder, IndexSettings.Builder> settings) throws IOException {
+        elasticsearchClient.indices().create(c -> c
+                .index(index)
+                .settings(s -> settings.apply(s))
+        );
+    }
+
+    private void warmUp(String index) throws IOException {
+        for (String field : List.of("nextSessionDate", "price")) {
+            elasticsearchClient.search(s -> s
+                    .index(index)
+                    .size(10)
+                    .sort(sb -> sb.field(f -> f.field(field).order(SortOrder.Asc))), CourseDocument.class);
+        }
+        elasticsearchClient.search(s -> s
+                .index(index)
+                .suggest(sg -> sg.suggesters("warm-up", sug -> sug
+                        .prefix("a")
+                        .completion(c -> c.field("suggest").size(10)))), CourseDocument.class);
+    }
+
+    /**
+     * Points the alias at {@code to} and the rollback alias at {@code from}, in one request.
+     */
+    private void swapAlias(String from, String to) throws IOException {
+        String rollbackTarget = aliasTarget(ROLLBACK_ALIAS);
+        List<Action> actions = new ArrayList<>();
+        if (from != null && from.equals(ALIAS)) {
+            actions.add(Action.of(a -> a.removeIndex(r -> r.index(from))));
+        } else if (from != null) {
+            actions.add(Action.of(a -> a.remove(r -> r.index(from).alias(ALIAS))));
+        }
+        actions.add(Action.of(a -> a.add(add -> add.index(to).alias(ALIAS))));
+        if (rollbackTarget != null && !rollbackTarget.equals(from)) {
+            actions.add(Action.of(a -> a.remove(r -> r.index(rollbackTarget).alias(ROLLBACK_ALIAS))));
+        }
+        if (from != null && !from.equals(ALIAS) && !from.equals(rollbackTarget)) {
+            actions.add(Action.of(a -> a.add(add -> add.index(from).alias(ROLLBACK_ALIAS))));
+        }
+        elasticsearchClient.indices().updateAliases(u -> u.actions(actions));
+        indexGeneration.advance();
+        log.info("Alias '{}' switched from '{}' to '{}'", ALIAS, from, to);
+        eventPublisher.publishEvent(new CourseIndexReplacedEvent(to));
+    }
+
+    /**
+     * Deletes the oldest versions beyond {@code courses.index.retained-versions}, skipping the
+     * {@code live} index and the {@code rollbackTarget}, which may be older than the rest.
+     */
+    private void deleteExpiredVersions(String live, String rollbackTarget) throws IOException {
+        List<Integer> versions = versions();
+        int expired = versions.size() - Math.max(1, indexProperties.getRetainedVersions());
+        for (int i = 0; i < versions.size() && expired > 0; i++) {
+            String index = versionName(versions.get(i));
+            if (index.equals(live) || index.equals(rollbackTarget)) {
+                continue;
+            }
+            elasticsearchClient.indices().delete(d -> d.index(index));
+            log.info("Deleted expired index version '{}'", index);
+            expired--;
+        }
+    }
+
+    /**
+     * The physical index the alias points at, the legacy concrete index, or null if neither exists.
+     */
+    private String activeIndex() throws IOException {
+        String active = aliasTarget(ALIAS);
+        if (active != null) {
+            return active;
+        }
+        return elasticsearchClient.indices().exists(e -> e.index(ALIAS)).value() ? ALIAS : null;
+    }
+
+    private String aliasTarget(String alias) throws IOException {
+        if (!elasticsearchClient.indices().existsAlias(e -> e.name(alias)).value()) {
+            return null;
+        }
+        return elasticsearchClient.indices().getAlias(g -> g.name(alias)).result().keySet().iterator().next();
+    }
+
+    private List<Integer> versions() throws IOException {
+        return elasticsearchClient.indices().get(g -> g.index(ALIAS + "_v*")).result().keySet().stream()
+                .map(CourseIndexManager::versionOf)
+                .filter(v -> v != null)
+                .sorted()
+                .toList();
+    }
+
+    private static String versionName(int version) {
+        return ALIAS + "_v" + version;
+    }
+
+    private static Integer versionOf(String index) {
+        if (index == null) {
+            return null;
+        }
+        Matcher matcher = VERSIONED.matcher(index);
+        return matcher.matches() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.undoschool_assignment_backend.service;
+
+/**
+ * Published when the contents behind the {@code courses} alias were replaced wholesale (startup
+ * load, rebuild, rollback); in-memory views should reload from the index rather than patch.
+ */
+public record CourseIndexReplacedEvent(String activeIndex) {
+}
@@ -0,0 +1,98 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Walks every document matching a query under a point-in-time, one {@code search_after} page at
+ * a time, so the whole index can be read with constant memory and a consistent view.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseIndexScanner {
+
+    private static final String KEEP_ALIVE = "1m";
+
+    private final ElasticsearchClient elasticsearchClient;
+
+    /**
+     * Hands the {@code _source} of every match to {@code consumer}, restricted to
+     * {@code includes} when not empty, and returns how many documents were visited.
+     */
+    public <T> long scan(String index, Query query, List<String> includes, int batchSize,
+                         Class<T> type, Consumer<T> consumer) throws IOException {
+        return scan(index, query, includes, List.of(), batchSize, type, consumer);
+    }
+
+    /**
+     * Like {@link #scan(String, Query, List, int, Class, Consumer)}, additionally dropping
+     * {@code excludes} from every {@code _source}.
+     */
+    public <T> long scan(String index, Query query, List<String> includes, List<String> excludes, int batchSize,
+                         Class<T> type, Consumer<T> consumer) throws IOException {
+        String pitId = elasticsearchClient.openPointInTime(p -> p.index(index).keepAlive(t -> t.time(KEEP_ALIVE))).id();
+        long visited = 0;
+        try {
+            List<FieldValue> after = null;
+            while (true) {
+                SearchRequest request = page(pitId, query, includes, excludes, batchSize, after);
+                SearchResponse<T> response = elasticsearchClient.search(request, type);
+                List<Hit<T>> hits = response.hits().hits();
+                for (Hit<T> hit : hits) {
+                    consumer.accept(hit.source());
+                }
+                visited += hits.size();
+                if (response.pitId() != null) {
+                    pitId = response.pitId();
+                }
+                if (hits.size() < batchSize) {
+                    return visited;
+                }
+                after = hits.get(hits.size() - 1).sort();
+            }
+        } finally {
+            String openPit = pitId;
+            elasticsearchClient.closePointInTime(c -> c.id(openPit));
+        }
+    }
+
+    private static SearchRequest page(String pitId, Query query, List<String> includes, List<String> excludes,
+                                      int batchSize, List<FieldValue> after) {
+        return SearchRequest.of(s -> {
+            s.pit(p -> p.id(pitId).keepAlive(t -> t.time(KEEP_ALIVE)))
+                    .size(batchSize)
+                    .trackTotalHits(t -> t.enabled(false))
+                    .sort(so -> so.field(f -> f.field("_shard_doc")));
+            if (query != null) {
+                s.query(query);
+            }
+            boolean hasIncludes = includes != null && !includes.isEmpty();
+            boolean hasExcludes = excludes != null && !excludes.isEmpty();
+            if (hasIncludes || hasExcludes) {
+                s.source(src -> src.filter(f -> {
+                    if (hasIncludes) {
+                        f.includes(includes);
+                    }
+                    if (hasExcludes) {
+                        f.excludes(excludes);
+                    }
+                    return f;
+                }));
+            }
+            if (after != null) {
+                s.searchAfter(after);
+            }
+            return s;
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.mapping.DynamicMapping;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch._types.mapping.TypeMapping;
+import co.elastic.clients.elasticsearch.indices.IndexSegmentSort;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import co.elastic.clients.elasticsearch.indices.SegmentSortMissing;
+import co.elastic.clients.elasticsearch.indices.SegmentSortOrder;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
+import com.example.undoschool_assignment_backend.config.IndexProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The index template every {@code courses_v{n}} version is created from, so that startup and
+ * rebuilds share one definition of settings and mappings.
+ * <p>
+ * Segments are sorted by {@code nextSessionDate} and then {@code id}, the order of the default
+ * sort and of cursor pages: a search with that sort which does not need an exact total, like a
+ * cursor page, stops after the first hits of each segment. Only scored text fields keep norms
+ * (keywords have none), and {@code gradeRange}, which is returned but never searched, sorted or
+ * aggregated, is neither indexed nor given doc values. Unknown fields stay in {@code _source}
+ * without being mapped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseIndexTemplate {
+
+    public static final String NAME = CourseIndexManager.ALIAS;
+    public static final String AUTOCOMPLETE_FIELD = "title.autocomplete";
+
+    private static final String PATTERN = CourseIndexManager.ALIAS + "_v*";
+    private static final List<String> SORT_FIELDS = List.of("nextSessionDate", CourseQueryBuilder.TIE_BREAKER_FIELD);
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final IndexProperties properties;
+
+    /**
+     * Creates or replaces the template; indices created afterwards pick it up.
+     */
+    public void apply() throws IOException {
+        elasticsearchClient.indices().putIndexTemplate(t -> t
+                .name(NAME)
+                .indexPatterns(PATTERN)
+                .priority(100)
+                .template(tm -> tm
+                        .settings(settings())
+                        .mappings(mappings())
+                )
+        );
+        log.info("Index template '{}' applied to '{}'", NAME, PATTERN);
+    }
+
+    /**
+     * Differences between {@code index} and the template, empty if it matches.
+     */
+    public List<String> drift(String index) throws IOException {
+        List<String> drift = new ArrayList<>();
+        for (IndexMappingRecord mapping : elasticsearchClient.indices().getMapping(g -> g.index(index)).result().values()) {
+            drift.addAll(compare("", mappings().properties(), mapping.mappings().properties()));
+        }
+        for (IndexState state : elasticsearchClient.indices().getSettings(g -> g.index(index)).result().values()) {
+            drift.addAll(compare(settings(), state.settings()));
+        }
+        return drift;
+    }
+
+    IndexSettings settings() {
+        return IndexSettings.of(s -> s
+                .numberOfShards(String.valueOf(properties.getNumberOfShards()))
+                .numberOfReplicas(String.valueOf(properties.getNumberOfReplicas()))
+                .refreshInterval(t -> t.time(properties.getRefreshInterval()))
+                .sort(so -> so
+                        .field(SORT_FIELDS)
+                        .order(SegmentSortOrder.Asc, SegmentSortOrder.Asc)
+                        .missing(SegmentSortMissing.Last, SegmentSortMissing.Last)
+                )
+        );
+    }
+
+    TypeMapping mappings() {
+        boolean autocomplete = properties.getTitleAutocomplete() == IndexProperties.TitleAutocomplete.SEARCH_AS_YOU_TYPE;
+        return TypeMapping.of(m -> m
+                .dynamic(DynamicMapping.False)
+                .properties("id", p -> p.keyword(k -> k))
+                .properties("title", p -> p.text(t -> {
+                    if (autocomplete) {
+                        t.fields("autocomplete", f -> f.searchAsYouType(sayt -> sayt));
+                    }
+                    return t;
+                }))
+                .properties("description", p -> p.text(t -> t))
+                .properties("category", p -> p.keyword(k -> k))
+                .properties("type", p -> p.keyword(k -> k))
+                .properties("gradeRange", p -> p.keyword(k -> k.index(false).docValues(false)))
+                .properties("minAge", p -> p.integer(i -> i))
+                .properties("maxAge", p -> p.integer(i -> i))
+                .properties("price", p -> p.double_(d -> d))
+                .properties("nextSessionDate", p -> p.date(d -> d))
+                .properties("suggest", p -> p.completion(c -> c))
+        );
+    }
+
+    /**
+     * Fields missing from {@code actual}, mapped with another type, or mapped without being in
+     * the template, including the sub-fields of text fields.
+     */
+    static List<String> compare(String prefix, Map<String, Property> expected, Map<String, Property> actual) {
+        List<String> drift = new ArrayList<>();
+        expected.forEach((name, property) -> {
+            Property live = actual.get(name);
+            if (live == null) {
+                drift.add("field '" + prefix + name + "' is not mapped");
+            } else if (live._kind() != property._kind()) {
+                drift.add("field '" + prefix + name + "' is mapped as " + live._kind().jsonValue()
+                        + ", expected " + property._kind().jsonValue());
+            } else if (property.isText()) {
+                drift.addAll(compare(prefix + name + ".", property.text().fields(), live.text().fields()));
+            }
+        });
+        actual.keySet().stream()
+                .filter(name -> !expected.containsKey(name))
+                .forEach(name -> drift.add("field '" + prefix + name + "' is mapped but not in the template"));
+        return drift;
+    }
+
+    static List<String> compare(IndexSettings expected, IndexSettings actual) {
+        List<String> drift = new ArrayList<>();
+        IndexSettings live = actual.index() != null ? actual.index() : actual;
+        if (!Objects.equals(expected.numberOfShards(), live.numberOfShards())) {
+            drift.add("index has " + live.numberOfShards() + " shards, expected " + expected.numberOfShards());
+        }
+        IndexSegmentSort sort = live.sort();
+        List<String> sortFields = sort == null ? List.of() : sort.field();
+        if (!expected.sort().field().equals(sortFields)) {
+            drift.add("index is sorted by " + sortFields + ", expected " + expected.sort().field());
+        }
+        return drift;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch.indices.get_mapping.IndexMappingRecord;
+import com.example.undoschool_assignment_backend.config.IndexProperties;
+import com.example.undoschool_assignment_backend.service.CourseQueryBuilder.FilterFields;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks the fields {@link CourseQueryBuilder} queries against the mapping behind the
+ * {@code courses} alias on startup and whenever the index is replaced. A term filter on a
+ * {@code text} field silently matches nothing, so category and type filters are pointed at
+ * whichever exact-match field the index actually has, and any other field that is missing or mapped with an
+ * unexpected type is logged instead of surfacing as empty results. Title suggestions likewise
+ * only query the {@code search_as_you_type} sub-field when the index has it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseMappingValidator {
+
+    private static final Set<Property.Kind> NUMERIC = EnumSet.of(
+            Property.Kind.Integer, Property.Kind.Long, Property.Kind.Short, Property.Kind.Byte,
+            Property.Kind.Double, Property.Kind.Float, Property.Kind.HalfFloat, Property.Kind.ScaledFloat);
+
+    private static final Map<String, Set<Property.Kind>> EXPECTED = expected();
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final CourseQueryBuilder queryBuilder;
+    private final ElasticsearchTitleSuggester titleSuggester;
+    private final IndexProperties indexProperties;
+
+    /**
+     * Resolves the fields against whatever index the alias points at on startup, whether or not
+     * the bootstrap runs and replaces it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        validate();
+    }
+
+    @EventListener
+    public void onReplaced(CourseIndexReplacedEvent event) {
+        validate();
+    }
+
+    private void validate() {
+        try {
+            Map<String, IndexMappingRecord> mappings = elasticsearchClient.indices()
+                    .getMapping(g -> g.index(CourseIndexManager.ALIAS))
+                    .result();
+            for (Map.Entry<String, IndexMappingRecord> mapping : mappings.entrySet()) {
+                Resolution resolution = resolve(mapping.getValue().mappings().properties());
+                resolution.problems().forEach(problem -> log.warn("Index '{}': {}", mapping.getKey(), problem));
+                if (!resolution.filterFields().equals(queryBuilder.filterFields())) {
+                    log.info("Filtering category and type on '{}' and '{}' in '{}'",
+                            resolution.filterFields().category(), resolution.filterFields().type(), mapping.getKey());
+                }
+                queryBuilder.useFilterFields(resolution.filterFields());
+                if (!resolution.titleAutocomplete() && indexProperties.getTitleAutocomplete()
+                        == IndexProperties.TitleAutocomplete.SEARCH_AS_YOU_TYPE) {
+                    log.warn("Index '{}' has no '{}' field, suggesting titles with the completion suggester until it is rebuilt",
+                            mapping.getKey(), CourseIndexTemplate.AUTOCOMPLETE_FIELD);
+                }
+                titleSuggester.useAutocompleteField(resolution.titleAutocomplete());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read the mapping of '{}', keeping filter fields {} and title autocomplete {}",
+                    CourseIndexManager.ALIAS, queryBuilder.filterFields(), titleSuggester.searchAsYouType(), e);
+        }
+    }
+
+    /**
+     * Picks the exact-match category and type fields out of {@code properties}, checks for the
+     * title's autocomplete sub-field and lists every queried field that the mapping does not support.
+     */
+    static Resolution resolve(Map<String, Property> properties) {
+        List<String> problems = new ArrayList<>();
+        EXPECTED.forEach((field, kinds) -> {
+            Property property = properties.get(field);
+            if (property == null) {
+                problems.add("field '" + field + "' is not mapped");
+            } else if (!kinds.contains(property._kind())) {
+                problems.add("field '" + field + "' is mapped as " + property._kind().jsonValue()
+                        + ", expected one of " + kinds.stream().map(Property.Kind::jsonValue).toList());
+            }
+        });
+        String category = exactField(properties, FilterFields.DEFAULT.category(), problems);
+        String type = exactField(properties, FilterFields.DEFAULT.type(), problems);
+        return new Resolution(new FilterFields(category, type), autocompleteMapped(properties), problems);
+    }
+
+    private static boolean autocompleteMapped(Map<String, Property> properties) {
+        Property title = properties.get("title");
+        if (title == null || !title.isText()) {
+            return false;
+        }
+        Property autocomplete = title.text().fields().get("autocomplete");
+        return autocomplete != null && autocomplete.isSearchAsYouType();
+    }
+
+    private static String exactField(Map<String, Property> properties, String field, List<String> problems) {
+        Property property = properties.get(field);
+        if (property == null) {
+            problems.add("field '" + field + "' is not mapped");
+            return field;
+        }
+        if (property.isKeyword()) {
+            return field;
+        }
+        if (property.isText()) {
+            Property keyword = property.text().fields().get("keyword");
+            if (keyword != null && keyword.isKeyword()) {
+                return field + ".keyword";
+            }
+        }
+        problems.add("field '" + field + "' is mapped as " + property._kind().jsonValue()
+                + " without a keyword sub-field, exact filters on it will not match");
+        return field;
+    }
+
+    private static Map<String, Set<Property.Kind>> expected() {
+        Map<String, Set<Property.Kind>> expected = new LinkedHashMap<>();
+        expected.put(CourseQueryBuilder.TIE_BREAKER_FIELD, EnumSet.of(Property.Kind.Keyword));
+        expected.put("title", EnumSet.of(Property.Kind.Text));
+        expected.put("description", EnumSet.of(Property.Kind.Text));
+        expected.put("minAge", NUMERIC);
+        expected.put("maxAge", NUMERIC);
+        expected.put("price", NUMERIC);
+        expected.put("nextSessionDate", EnumSet.of(Property.Kind.Date, Property.Kind.DateNanos));
+        return expected;
+    }
+
+    record Resolution(FilterFields filterFields, boolean titleAutocomplete, List<String> problems) {
+    }
+}
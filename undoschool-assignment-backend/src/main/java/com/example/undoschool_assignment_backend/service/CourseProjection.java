@@ -0,0 +1,75 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.core.search.SourceConfig;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.document.CourseListItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Which parts of a course {@code _source} a search returns and the type hits are read into.
+ * The {@code suggest} input is an indexing detail and is left out unless asked for by name.
+ */
+public record CourseProjection<T>(List<String> includes, List<String> excludes, Class<T> type) {
+
+    private static final String SUGGEST = "suggest";
+    private static final Set<String> FIELDS = Set.of("id", "title", "description", "category", "type",
+            "gradeRange", "minAge", "maxAge", "price", "nextSessionDate", SUGGEST);
+
+    public static final CourseProjection<CourseDocument> FULL =
+            new CourseProjection<>(List.of(), List.of(SUGGEST), CourseDocument.class);
+
+    public static final CourseProjection<CourseListItem> LIST =
+            new CourseProjection<>(List.of("id", "title", "price", "nextSessionDate"), List.of(), CourseListItem.class);
+
+    /**
+     * Parses a {@code fields} parameter: plain names are included, names prefixed with {@code -}
+     * are excluded. Hits are returned as JSON trees so absent fields stay absent in the response.
+     */
+    public static CourseProjection<JsonNode> fields(List<String> fields) {
+        List<String> includes = new ArrayList<>();
+        List<String> excludes = new ArrayList<>();
+        for (String field : fields) {
+            String name = field.trim();
+            boolean exclude = name.startsWith("-");
+            if (exclude) {
+                name = name.substring(1);
+            }
+            if (!FIELDS.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name);
+            }
+            (exclude ? excludes : includes).add(name);
+        }
+        if (!includes.contains(SUGGEST) && !excludes.contains(SUGGEST)) {
+            excludes.add(SUGGEST);
+        }
+        return new CourseProjection<>(List.copyOf(includes), List.copyOf(excludes), JsonNode.class);
+    }
+
+    /**
+     * The projection for a request's {@code fields} and {@code view} parameters, {@link #FULL} if neither is set.
+     */
+    public static CourseProjection<?> select(List<String> fields, String view) {
+        if (fields != null && !fields.isEmpty()) {
+            return fields(fields);
+        }
+        return "list".equals(view) ? LIST : FULL;
+    }
+
+    public SourceConfig source() {
+        return SourceConfig.of(s -> s.filter(f -> {
+            if (!includes.isEmpty()) {
+                f.includes(includes);
+            }
+            if (!excludes.isEmpty()) {
+                f.excludes(excludes);
+            }
+            return f;
+        }));
+    }
+}
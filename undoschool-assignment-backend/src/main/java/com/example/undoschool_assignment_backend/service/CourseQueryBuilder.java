@@ -0,0 +1,182 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.*;
+import co.elastic.clients.json.JsonData;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates a {@link CourseSearchQuery} into the Elasticsearch query and sort shared by every
+ * search path (paged, cursor, export).
+ * <p>
+ * Every filter goes into filter context, where Elasticsearch caches it per segment and skips
+ * scoring; a query without search text is wrapped in {@code constant_score} so nothing is
+ * scored at all. The exact-match fields come from {@link FilterFields}, which
+ * {@link CourseMappingValidator} resolves against the live mapping.
+ */
+@Component
+public class CourseQueryBuilder {
+
+    /** Unique keyword field appended to cursor sorts so {@code search_after} never skips or repeats hits. */
+    public static final String TIE_BREAKER_FIELD = "id";
+
+    private volatile FilterFields filterFields = FilterFields.DEFAULT;
+
+    public Query query(CourseSearchQuery query) {
+        Map<CourseFacet, List<Query>> filters = facetFilters(query);
+        if (!query.hasText()) {
+            if (filters.isEmpty()) {
+                return MatchAllQuery.of(m -> m)._toQuery();
+            }
+            return ConstantScoreQuery.of(c -> c.filter(bool(filters)))._toQuery();
+        }
+        BoolQuery.Builder boolQuery = new BoolQuery.Builder().must(textQuery(query));
+        filters.values().forEach(boolQuery::filter);
+        return boolQuery.build()._toQuery();
+    }
+
+    /**
+     * All of the query's filters without the text match, e.g. for a {@code post_filter}.
+     */
+    public Query filter(CourseSearchQuery query) {
+        return bool(facetFilters(query));
+    }
+
+    /**
+     * The scoring part of the query: a fuzzy match on the search text, or all courses.
+     */
+    public Query textQuery(CourseSearchQuery query) {
+        if (query.hasText()) {
+            return MultiMatchQuery.of(m -> m
+                    .query(query.q())
+                    .fields("title^2", "description")
+                    .fuzziness("AUTO")
+            )._toQuery();
+        }
+        return MatchAllQuery.of(m -> m)._toQuery();
+    }
+
+    /**
+     * The query's filters grouped by the facet they narrow; facets without a filter are absent.
+     */
+    public Map<CourseFacet, List<Query>> facetFilters(CourseSearchQuery query) {
+        Map<CourseFacet, List<Query>> filters = new EnumMap<>(CourseFacet.class);
+        FilterFields fields = filterFields;
+
+        if (query.category() != null) {
+            add(filters, CourseFacet.CATEGORY, TermQuery.of(t -> t
+                    .field(fields.category())
+                    .value(query.category())
+            )._toQuery());
+        }
+
+        if (query.type() != null) {
+            add(filters, CourseFacet.TYPE, TermQuery.of(t -> t
+                    .field(fields.type())
+                    .value(query.type())
+            )._toQuery());
+        }
+
+        if (query.startDate() != null) {
+            add(filters, CourseFacet.NEXT_SESSION_DATE, RangeQuery.of(r -> r
+                    .field("nextSessionDate")
+                    .gte(JsonData.of(query.startDate().toString()))
+            )._toQuery());
+        }
+
+        if (query.minPrice() != null) {
+            add(filters, CourseFacet.PRICE, RangeQuery.of(r -> r
+                    .field("price")
+                    .gte(JsonData.of(query.minPrice()))
+            )._toQuery());
+        }
+
+        if (query.maxPrice() != null) {
+            add(filters, CourseFacet.PRICE, RangeQuery.of(r -> r
+                    .field("price")
+                    .lte(JsonData.of(query.maxPrice()))
+            )._toQuery());
+        }
+
+        if (query.minAge() != null) {
+            add(filters, CourseFacet.AGE, RangeQuery.of(r -> r
+                    .field("maxAge")
+                    .gte(JsonData.of(query.minAge()))
+            )._toQuery());
+        }
+
+        if (query.maxAge() != null) {
+            add(filters, CourseFacet.AGE, RangeQuery.of(r -> r
+                    .field("minAge")
+                    .lte(JsonData.of(query.maxAge()))
+            )._toQuery());
+        }
+
+        return filters;
+    }
+
+    public SortOptions sort(CourseSearchQuery query) {
+        final String sortField;
+        final SortOrder sortOrder;
+
+        if (CourseSearchQuery.SORT_PRICE_ASC.equals(query.sort())) {
+            sortField = "price";
+            sortOrder = SortOrder.Asc;
+        } else if (CourseSearchQuery.SORT_PRICE_DESC.equals(query.sort())) {
+            sortField = "price";
+            sortOrder = SortOrder.Desc;
+        } else {
+            sortField = "nextSessionDate";
+            sortOrder = SortOrder.Asc;
+        }
+
+        return SortOptions.of(sb -> sb.field(f -> f
+                .field(sortField)
+                .order(sortOrder)
+        ));
+    }
+
+    /**
+     * The query's sort followed by the {@link #TIE_BREAKER_FIELD}, giving a total order.
+     */
+    public List<SortOptions> cursorSort(CourseSearchQuery query) {
+        return List.of(
+                sort(query),
+                SortOptions.of(sb -> sb.field(f -> f.field(TIE_BREAKER_FIELD).order(SortOrder.Asc)))
+        );
+    }
+
+    public FilterFields filterFields() {
+        return filterFields;
+    }
+
+    public void useFilterFields(FilterFields filterFields) {
+        this.filterFields = filterFields;
+    }
+
+    private static Query bool(Map<CourseFacet, List<Query>> filters) {
+        BoolQuery.Builder boolQuery = new BoolQuery.Builder();
+        filters.values().forEach(boolQuery::filter);
+        return boolQuery.build()._toQuery();
+    }
+
+    private static void add(Map<CourseFacet, List<Query>> filters, CourseFacet facet, Query filter) {
+        filters.computeIfAbsent(facet, f -> new ArrayList<>()).add(filter);
+    }
+
+    /**
+     * The fields that exact category and type filters and their facets run against: the
+     * {@code keyword} fields of the versioned index mapping by default, or the {@code .keyword}
+     * sub-fields of an index that was created by dynamic mapping.
+     */
+    public record FilterFields(String category, String type) {
+
+        public static final FilterFields DEFAULT = new FilterFields("category", "type");
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers searches without search text from {@link CourseColumns} held in the JVM, leaving
+ * only text searches to Elasticsearch. The columns are a {@link CourseSnapshot} of the index;
+ * before the first load, searches go to Elasticsearch.
+ */
+@Component
+@ConditionalOnProperty(name = "courses.search.read-model.enabled", havingValue = "true")
+public class CourseReadModel {
+
+    private final ObjectMapper objectMapper;
+    private final CourseSnapshot<CourseDocument, CourseColumns> snapshot;
+
+    public CourseReadModel(CourseIndexScanner scanner, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.snapshot = new CourseSnapshot<>("read model", scanner, List.of(), CourseProjection.FULL.excludes(),
+                CourseReadModel::withoutSuggest, CourseColumns::build);
+    }
+
+    /**
+     * Whether {@code query} can be answered here: the courses are loaded and there is no
+     * search text to score.
+     */
+    public boolean canAnswer(CourseSearchQuery query) {
+        return snapshot.isReady() && !query.hasText();
+    }
+
+    public <T> Page<T> search(CourseSearchQuery query, CourseProjection<T> projection) {
+        CourseColumns.Result result = snapshot.current().search(query);
+        List<T> content = new ArrayList<>(result.courses().size());
+        for (CourseDocument course : result.courses()) {
+            content.add(project(course, projection));
+        }
+        return new PageImpl<>(content, PageRequest.of(query.page(), Math.max(query.size(), 1)), result.total());
+    }
+
+    @EventListener
+    public void onIndexed(CoursesIndexedEvent event) {
+        snapshot.onIndexed(event);
+    }
+
+    @EventListener
+    public void onReplaced(CourseIndexReplacedEvent event) {
+        snapshot.onReplaced(event);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T project(CourseDocument course, CourseProjection<T> projection) {
+        if (projection == CourseProjection.FULL) {
+            return (T) course;
+        }
+        ObjectNode node = objectMapper.valueToTree(course);
+        if (!projection.includes().isEmpty()) {
+            node.retain(projection.includes());
+        }
+        node.remove(projection.excludes());
+        return objectMapper.convertValue(node, projection.type());
+    }
+
+    private static CourseDocument withoutSuggest(CourseDocument course) {
+        if (course.getSuggest() == null) {
+            return course;
+        }
+        return new CourseDocument(course.getId(), course.getTitle(), course.getDescription(), course.getCategory(),
+                course.getType(), course.getGradeRange(), course.getMinAge(), course.getMaxAge(), course.getPrice(),
+                course.getNextSessionDate(), null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        snapshot.shutdown();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.undoschool_assignment_backend.service;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The engine that answers {@code searchCourses} and {@code suggestTitles}, selected with
+ * {@code courses.search.backend}. Caching, coalescing, metrics and error handling stay in
+ * {@link CourseService}; a backend only has to run the query.
+ */
+public interface CourseSearchBackend {
+
+    /** Short name used in logs and as the {@code engine} metric tag. */
+    String name();
+
+    <T> CompletableFuture<Page<T>> search(CourseSearchQuery query, CourseProjection<T> projection);
+
+    /**
+     * Runs {@code queries} together, one future per query in the same order, each failing on
+     * its own. Backends that cannot batch run them one by one.
+     */
+    default <T> List<CompletableFuture<Page<T>>> searchAll(List<CourseSearchQuery> queries, CourseProjection<T> projection) {
+        return queries.stream().map(query -> search(query, projection)).toList();
+    }
+
+    CompletableFuture<List<String>> suggest(String prefix, int size);
+}
@@ -0,0 +1,76 @@
+package com.example.undoschool_assignment_backend.service;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/**
+ * Normalised search parameters. Two requests that are answered identically by Elasticsearch
+ * produce equal queries, which makes this safe to use as a cache key.
+ * <p>
+ * {@code startDate} is rounded down to {@link #START_DATE_ROUNDING}: clients tend to send the
+ * current time, and without rounding every request would carry a distinct range filter that
+ * neither our result cache nor Elasticsearch's request and filter caches could reuse.
+ */
+public record CourseSearchQuery(
+        String q,
+        Integer minAge, Integer maxAge,
+        String category, String type,
+        Double minPrice, Double maxPrice,
+        ZonedDateTime startDate,
+        String sort,
+        int page, int size
+) {
+
+    public static final String SORT_UPCOMING = "upcoming";
+    public static final String SORT_PRICE_ASC = "priceAsc";
+    public static final String SORT_PRICE_DESC = "priceDesc";
+
+    public static final ChronoUnit START_DATE_ROUNDING = ChronoUnit.HOURS;
+
+    public static CourseSearchQuery of(
+            String q,
+            Integer minAge, Integer maxAge,
+            String category, String type,
+            Double minPrice, Double maxPrice,
+            ZonedDateTime startDate,
+            String sort,
+            int page, int size
+    ) {
+        return new CourseSearchQuery(
+                q == null || q.isBlank() ? null : q.trim().toLowerCase(Locale.ROOT),
+                minAge, maxAge,
+                blankToNull(category), blankToNull(type),
+                minPrice, maxPrice,
+                startDate == null ? null : startDate.withZoneSameInstant(ZoneOffset.UTC).truncatedTo(START_DATE_ROUNDING),
+                normaliseSort(sort),
+                page, size
+        );
+    }
+
+    public boolean hasText() {
+        return q != null;
+    }
+
+    /**
+     * This query without sort and paging: the part that decides which courses match.
+     */
+    public CourseSearchQuery filtersOnly() {
+        return new CourseSearchQuery(q, minAge, maxAge, category, type, minPrice, maxPrice, startDate, null, 0, 0);
+    }
+
+    private static String normaliseSort(String sort) {
+        if (SORT_PRICE_ASC.equalsIgnoreCase(sort)) {
+            return SORT_PRICE_ASC;
+        }
+        if (SORT_PRICE_DESC.equalsIgnoreCase(sort)) {
+            return SORT_PRICE_DESC;
+        }
+        return SORT_UPCOMING;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
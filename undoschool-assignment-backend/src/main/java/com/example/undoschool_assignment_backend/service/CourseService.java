@@ -1,57 +1,69 @@
 package com.example.undoschool_assignment_backend.service;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
-import co.elastic.clients.elasticsearch._types.SortOrder;
-import co.elastic.clients.elasticsearch._types.query_dsl.*;
-import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.FieldValue;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
-import co.elastic.clients.elasticsearch.core.search.CompletionSuggestOption;
 import co.elastic.clients.elasticsearch.core.search.Hit;
-import co.elastic.clients.elasticsearch.core.search.Suggestion;
-import co.elastic.clients.json.JsonData;
+import com.example.undoschool_assignment_backend.config.BatchSearchProperties;
+import com.example.undoschool_assignment_backend.config.SuggestProperties;
 import com.example.undoschool_assignment_backend.document.CourseDocument;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import co.elastic.clients.elasticsearch._types.query_dsl.RangeQuery;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CourseService {
 
-    private static final String INDEX = "courses";
+    private static final String INDEX = CourseIndexManager.ALIAS;
+    private static final String CURSOR_KEEP_ALIVE = "2m";
     private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchAsyncClient elasticsearchAsyncClient;
+    private final BulkIngestionService bulkIngestionService;
+    private final SearchResultCache searchResultCache;
+    private final CourseQueryBuilder queryBuilder;
+    private final CourseFacets courseFacets;
+    private final FacetCache facetCache;
+    private final CursorCodec cursorCodec;
+    private final SingleFlight singleFlight;
+    private final SearchMetrics searchMetrics;
+    private final CourseSearchBackend searchBackend;
+    private final Optional<CourseReadModel> readModel;
+    private final Optional<InMemoryTitleSuggester> inMemoryTitleSuggester;
+    private final SuggestProperties suggestProperties;
+    private final BatchSearchProperties batchSearchProperties;
+    private final BackendGuard backendGuard;
+    private final StaleResultCache staleResults;
 
     public void bulkIndex(List<CourseDocument> courses) {
+        long start = System.nanoTime();
         try {
-            BulkRequest.Builder br = new BulkRequest.Builder();
-            for (CourseDocument course : courses) {
-                br.operations(op -> op
-                        .index(idx -> idx
-                                .index(INDEX)
-                                .id(course.getId())
-                                .document(course)
-                        )
-                );
-            }
-
-            br.refresh(co.elastic.clients.elasticsearch._types.Refresh.True);
-
-            elasticsearchClient.bulk(br.build());
-            log.info("Successfully indexed {} courses.", courses.size());
+            bulkIngestionService.ingest(INDEX, courses);
+            searchMetrics.recordBulkIndex(courses.size(), start, null);
         } catch (IOException e) {
+            searchMetrics.recordBulkIndex(courses.size(), start, e);
             log.error("Bulk indexing failed", e);
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -64,147 +76,362 @@ public class CourseService {
             String sort,
             int page, int size
     ) {
-        try {
-            BoolQuery.Builder boolQuery = new BoolQuery.Builder();
-
-            if (q != null && !q.isBlank()) {
-                boolQuery.must(MultiMatchQuery.of(m -> m
-                        .query(q)
-                        .fields("title^2", "description")
-                        .fuzziness("AUTO")
-                )._toQuery());
-            } else {
-                boolQuery.must(MatchAllQuery.of(m -> m)._toQuery());
-            }
+        return searchCourses(CourseSearchQuery.of(q, minAge, maxAge, category, type, minPrice, maxPrice, startDate, sort, page, size));
+    }
 
-            if (category != null && !category.isBlank()) {
-                boolQuery.filter(TermQuery.of(t -> t
-                        .field("category.keyword")
-                        .value(category)
-                )._toQuery());
-            }
+    public Page<CourseDocument> searchCourses(CourseSearchQuery query) {
+        return searchCourses(query, CourseProjection.FULL);
+    }
 
-            if (type != null && !type.isBlank()) {
-                boolQuery.filter(TermQuery.of(t -> t
-                        .field("type.keyword")
-                        .value(type)
-                )._toQuery());
-            }
+    /**
+     * Searches returning only the {@code _source} fields selected by {@code projection}, read
+     * directly into its type. Waits on {@link #searchCoursesAsync}, which parks a virtual
+     * thread instead of pinning it the way the blocking client's monitor wait does.
+     */
+    public <T> Page<T> searchCourses(CourseSearchQuery query, CourseProjection<T> projection) {
+        return await(searchCoursesAsync(query, projection));
+    }
 
-            if (startDate != null) {
-                boolQuery.filter(RangeQuery.of(r -> r
-                        .field("nextSessionDate")
-                        .gte(JsonData.of(startDate.toString()))
-                )._toQuery());
-            }
+    /**
+     * Non-blocking search through the configured {@link CourseSearchBackend}; with Elasticsearch
+     * the future completes on the HTTP client's I/O thread. When the backend fails it completes
+     * with a 503 {@link ResponseStatusException} rather than an empty page. Identical searches
+     * in flight at the same time share one backend call, also when the result cache is disabled.
+     * Searches without text are answered by the {@link CourseReadModel} when it is enabled and
+     * loaded, bypassing both.
+     * <p>
+     * Backend calls go through the {@link BackendGuard}, which sheds them with a 503 instead of
+     * queueing when the backend is slow or failing. A shed or failed search is answered with its
+     * last good result from the {@link StaleResultCache} if there is one.
+     */
+    public <T> CompletableFuture<Page<T>> searchCoursesAsync(CourseSearchQuery query, CourseProjection<T> projection) {
+        long start = System.nanoTime();
+        if (readModel.isPresent() && readModel.get().canAnswer(query)) {
+            Page<T> page = readModel.get().search(query, projection);
+            searchMetrics.recordSearch("read-model", query, start, null);
+            return CompletableFuture.completedFuture(page);
+        }
+        SearchKey key = new SearchKey(query, projection);
+        return searchResultCache.getAsync(query, projection, q -> singleFlight.execute("search", key,
+                        () -> backendGuard.call(() -> searchBackend.search(q, projection))
+                                .thenApply(page -> remember("search", key, page))))
+                .handle((page, e) -> {
+                    Throwable failure = unwrap(e);
+                    searchMetrics.recordSearch("search", query, start, failure);
+                    if (failure != null) {
+                        return fallback("search", key, "Search", failure);
+                    }
+                    return page;
+                });
+    }
 
-            if (minPrice != null) {
-                boolQuery.filter(RangeQuery.of(r -> r
-                        .field("price")
-                        .gte(JsonData.of(minPrice))
-                )._toQuery());
-            }
+    public <T> List<BatchSearchResult<T>> searchBatch(List<CourseSearchQuery> queries, CourseProjection<T> projection) {
+        return await(searchBatchAsync(queries, projection));
+    }
 
-            if (maxPrice != null) {
-                boolQuery.filter(RangeQuery.of(r -> r
-                        .field("price")
-                        .lte(JsonData.of(maxPrice))
-                )._toQuery());
+    /**
+     * Runs several searches in one backend call, returning one result per query in order. Each
+     * query goes through the read model and the result cache like a single search; only the
+     * cache misses are sent, together under one {@link BackendGuard} permit, and identical queries
+     * of a batch are sent once. A failed query yields its last good result or an error result,
+     * without failing the others. Batches larger than
+     * {@code courses.search.batch.max-queries} are rejected with 400.
+     */
+    public <T> CompletableFuture<List<BatchSearchResult<T>>> searchBatchAsync(List<CourseSearchQuery> queries,
+                                                                           CourseProjection<T> projection) {
+        if (queries.size() > batchSearchProperties.getMaxQueries()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + batchSearchProperties.getMaxQueries() + " searches per batch");
+        }
+        Map<CourseSearchQuery, CompletableFuture<Page<T>>> misses = new LinkedHashMap<>();
+        List<CompletableFuture<BatchSearchResult<T>>> results = new ArrayList<>(queries.size());
+        for (CourseSearchQuery query : queries) {
+            long start = System.nanoTime();
+            CompletableFuture<Page<T>> page;
+            if (readModel.isPresent() && readModel.get().canAnswer(query)) {
+                page = CompletableFuture.completedFuture(readModel.get().search(query, projection));
+            } else {
+                // Called synchronously on a miss; the future is completed below once the batch is sent.
+                page = searchResultCache.getAsync(query, projection,
+                        q -> misses.computeIfAbsent(q, k -> new CompletableFuture<>()));
             }
+            SearchKey key = new SearchKey(query, projection);
+            results.add(page.handle((p, e) -> {
+                Throwable failure = unwrap(e);
+                searchMetrics.recordSearch("batch", query, start, failure);
+                if (failure == null) {
+                    return BatchSearchResult.ok(p);
+                }
+                Page<T> stale = stale("search", key, failure);
+                return stale != null ? BatchSearchResult.ok(stale) : failed(failure);
+            }));
+        }
 
-            if (minAge != null) {
-                boolQuery.filter(RangeQuery.of(r -> r
-                        .field("maxAge")
-                        .gte(JsonData.of(minAge))
-                )._toQuery());
+        if (!misses.isEmpty()) {
+            List<CourseSearchQuery> sent = List.copyOf(misses.keySet());
+            try {
+                BackendGuard.Permit permit = backendGuard.acquire();
+                List<CompletableFuture<Page<T>>> pages;
+                try {
+                    pages = searchBackend.searchAll(sent, projection);
+                } catch (RuntimeException e) {
+                    permit.release(e);
+                    throw e;
+                }
+                CompletableFuture.allOf(pages.toArray(CompletableFuture[]::new))
+                        .whenComplete((v, e) -> permit.release(e));
+                for (int i = 0; i < sent.size(); i++) {
+                    CompletableFuture<Page<T>> miss = misses.get(sent.get(i));
+                    SearchKey key = new SearchKey(sent.get(i), projection);
+                    pages.get(i).whenComplete((p, e) -> {
+                        if (e != null) {
+                            miss.completeExceptionally(unwrap(e));
+                        } else {
+                            miss.complete(remember("search", key, p));
+                        }
+                    });
+                }
+            } catch (RuntimeException e) {
+                misses.values().forEach(miss -> miss.completeExceptionally(e));
             }
+        }
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(v -> results.stream().map(CompletableFuture::join).toList());
+    }
 
-            if (maxAge != null) {
-                boolQuery.filter(RangeQuery.of(r -> r
-                        .field("minAge")
-                        .lte(JsonData.of(maxAge))
-                )._toQuery());
-            }
+    public <T> FacetedPage<T> searchWithFacets(CourseSearchQuery query, CourseProjection<T> projection) {
+        return await(searchWithFacetsAsync(query, projection));
+    }
 
-            final String sortField;
-            final SortOrder sortOrder;
+    /**
+     * Search plus facet counts over the whole result set. On a facet cache hit only the hits
+     * are fetched, through the result cache; otherwise hits and aggregations come back in one
+     * round-trip and the facets are cached for the other pages and sort orders of the search.
+     * The request asks for Elasticsearch's request cache, so the aggregations of a popular
+     * filter combination are also reused across instances and after our own cache expires.
+     */
+    public <T> CompletableFuture<FacetedPage<T>> searchWithFacetsAsync(CourseSearchQuery query,
+                                                                       CourseProjection<T> projection) {
+        Facets cached = facetCache.get(query);
+        if (cached != null) {
+            return searchCoursesAsync(query, projection).thenApply(page -> new FacetedPage<>(page, cached));
+        }
+        long start = System.nanoTime();
+        SearchKey key = new SearchKey(query, projection);
+        return singleFlight.execute("facets", key, () -> backendGuard.call(() -> executeFacetedSearch(query, projection)))
+                .handle((page, e) -> {
+                    Throwable failure = unwrap(e);
+                    searchMetrics.recordSearch("facets", query, start, failure);
+                    if (failure != null) {
+                        return fallback("facets", key, "Faceted search", failure);
+                    }
+                    return remember("facets", key, page);
+                });
+    }
 
-            if ("priceAsc".equalsIgnoreCase(sort)) {
-                sortField = "price";
-                sortOrder = SortOrder.Asc;
-            } else if ("priceDesc".equalsIgnoreCase(sort)) {
-                sortField = "price";
-                sortOrder = SortOrder.Desc;
-            } else {
-                sortField = "nextSessionDate";
-                sortOrder = SortOrder.Asc;
-            }
+    private <T> CompletableFuture<FacetedPage<T>> executeFacetedSearch(CourseSearchQuery query,
+                                                                       CourseProjection<T> projection) {
+        long start = System.nanoTime();
+        SearchRequest request = SearchRequest.of(s -> s
+                .index(INDEX)
+                .from(query.page() * query.size())
+                .size(query.size())
+                .query(queryBuilder.textQuery(query))
+                .postFilter(queryBuilder.filter(query))
+                .aggregations(courseFacets.aggregations(query))
+                .sort(queryBuilder.sort(query))
+                .source(projection.source())
+                .requestCache(true)
+        );
+        long sent = System.nanoTime();
+        return elasticsearchAsyncClient.search(request, projection.type())
+                .thenApply(response -> {
+                    searchMetrics.recordRoundTrip("facets", request, sent - start, System.nanoTime() - sent, response.took());
+                    Facets facets = courseFacets.read(response.aggregations());
+                    facetCache.put(query, facets);
+                    return new FacetedPage<>(ElasticsearchSearchBackend.toPage(response, query), facets);
+                });
+    }
 
-            SearchRequest request = SearchRequest.of(s -> s
+    /**
+     * Starts a cursor walk over all results of {@code query}: opens a point-in-time and returns
+     * the first {@code size} hits together with a token for the next page. Unlike
+     * {@code from}-based paging, every page costs the same and there is no result window limit.
+     * Pages larger than {@code courses.search.cursor.max-size} are rejected with 400.
+     */
+    public CursorPage<CourseDocument> searchWithCursor(CourseSearchQuery query) {
+        cursorCodec.check(query);
+        try {
+            String pitId = elasticsearchClient.openPointInTime(p -> p
                     .index(INDEX)
-                    .from(page * size)
-                    .size(size)
-                    .query(boolQuery.build()._toQuery())
-                    .sort(sb -> sb.field(f -> f
-                            .field(sortField)
-                            .order(sortOrder)
-                    ))
-            );
-
-            SearchResponse<CourseDocument> response =
-                    elasticsearchClient.search(request, CourseDocument.class);
-
-            List<CourseDocument> hits = new ArrayList<>();
-            for (Hit<CourseDocument> hit : response.hits().hits()) {
-                hits.add(hit.source());
+                    .keepAlive(t -> t.time(CURSOR_KEEP_ALIVE))
+            ).id();
+            return cursorPage(pitId, null, query);
+        } catch (IOException | ElasticsearchException e) {
+            throw failure("Cursor search", e);
+        }
+    }
+
+    public CursorPage<CourseDocument> continueCursor(String cursor) {
+        CursorCodec.Token token = cursorCodec.decode(cursor);
+        try {
+            return cursorPage(token.pitId(), token.searchAfterValues(), token.query());
+        } catch (ElasticsearchException e) {
+            if (e.status() == 404) {
+                throw new ResponseStatusException(HttpStatus.GONE, "Cursor expired, start a new search");
+            }
+            throw failure("Cursor search", e);
+        } catch (IOException e) {
+            throw failure("Cursor search", e);
+        }
+    }
+
+    private CursorPage<CourseDocument> cursorPage(String pitId, List<FieldValue> searchAfter,
+                                                  CourseSearchQuery query) throws IOException {
+        SearchRequest request = SearchRequest.of(s -> {
+            s.pit(p -> p.id(pitId).keepAlive(t -> t.time(CURSOR_KEEP_ALIVE)))
+                    .size(query.size())
+                    .trackTotalHits(t -> t.enabled(false))
+                    .query(queryBuilder.query(query))
+                    .sort(queryBuilder.cursorSort(query))
+                    .source(CourseProjection.FULL.source());
+            if (searchAfter != null) {
+                s.searchAfter(searchAfter);
             }
+            return s;
+        });
 
-            long total = response.hits().total() != null ? response.hits().total().value() : 0;
-            return new PageImpl<>(hits, PageRequest.of(page, size), total);
+        SearchResponse<CourseDocument> response = elasticsearchClient.search(request, CourseDocument.class);
+        List<Hit<CourseDocument>> hits = response.hits().hits();
+        List<CourseDocument> content = new ArrayList<>(hits.size());
+        for (Hit<CourseDocument> hit : hits) {
+            content.add(hit.source());
+        }
 
-        } catch (IOException e) {
-            log.error("Search failed", e);
-            return Page.empty();
+        String currentPit = response.pitId() != null ? response.pitId() : pitId;
+        if (hits.size() < query.size()) {
+            elasticsearchClient.closePointInTime(c -> c.id(currentPit));
+            return new CursorPage<>(content, content.size(), null);
         }
+        String next = cursorCodec.encode(currentPit, hits.get(hits.size() - 1).sort(), query);
+        return new CursorPage<>(content, content.size(), next);
     }
 
     public List<String> suggestTitles(String partialTitle) {
+        return await(suggestTitlesAsync(partialTitle));
+    }
+
+    public CompletableFuture<List<String>> suggestTitlesAsync(String partialTitle) {
         if (partialTitle == null || partialTitle.isBlank()) {
-            return Collections.emptyList();
+            return CompletableFuture.completedFuture(Collections.emptyList());
         }
-        try {
-            SearchRequest req = SearchRequest.of(s -> s
-                    .index(INDEX)
-                    .suggest(sg -> sg
-                            .suggesters("course-suggest", sug -> sug
-                                    .prefix(partialTitle)
-                                    .completion(c -> c
-                                            .field("suggest")
-                                            .skipDuplicates(true)
-                                            .size(10)
-                                    )
-                            )
-                    )
-            );
+        long start = System.nanoTime();
+        int size = suggestProperties.getSize();
+        // Every backend completes case-insensitively, so prefixes differing only in case match alike.
+        String key = partialTitle.toLowerCase(Locale.ROOT);
+        String engine;
+        CompletableFuture<List<String>> suggestions;
+        if (inMemoryTitleSuggester.isPresent() && inMemoryTitleSuggester.get().isReady()) {
+            engine = "memory";
+            suggestions = inMemoryTitleSuggester.get().suggestAsync(partialTitle, size);
+        } else {
+            engine = searchBackend.name();
+            suggestions = singleFlight.execute("suggest", key,
+                    () -> backendGuard.call(() -> searchBackend.suggest(partialTitle, size))
+                            .thenApply(titles -> remember("suggest", key, titles)));
+        }
+        return suggestions
+                .handle((titles, e) -> {
+                    Throwable failure = unwrap(e);
+                    searchMetrics.recordSuggest(engine, start, failure);
+                    if (failure != null) {
+                        return fallback("suggest", key, "Autocomplete", failure);
+                    }
+                    return titles;
+                });
+    }
 
-            SearchResponse<CourseDocument> resp =
-                    elasticsearchClient.search(req, CourseDocument.class);
+    /**
+     * Joins {@code future}, rethrowing its failure as is rather than wrapped, so that a 503
+     * reaches the client as such on the synchronous endpoints.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
-            List<Suggestion<CourseDocument>> suggestions =
-                    resp.suggest().get("course-suggest");
+    /**
+     * A client error Elasticsearch reports for one query of a batch keeps its status; anything
+     * else is the 503 a single search would have returned.
+     */
+    private static <T> BatchSearchResult<T> failed(Throwable failure) {
+        if (failure instanceof ElasticsearchException e && e.status() >= 400 && e.status() < 500) {
+            return BatchSearchResult.failed(e.status(), e.error().reason());
+        }
+        ResponseStatusException e = failure("Batch search", failure);
+        return BatchSearchResult.failed(e.getStatusCode().value(), e.getReason());
+    }
 
-            log.info("Response from ES: {}", resp);
+    private <T> T remember(String operation, Object key, T result) {
+        staleResults.put(operation, key, result);
+        return result;
+    }
 
+    /**
+     * The last good result for {@code key} if {@code failure} is the backend's fault, or null.
+     */
+    private <T> T stale(String operation, Object key, Throwable failure) {
+        if (!BackendGuard.isBackendFailure(failure)) {
+            return null;
+        }
+        T stale = staleResults.get(operation, key);
+        if (stale != null) {
+            searchMetrics.recordStale(operation);
+            log.debug("{} failed, serving the last good result: {}", operation, failure.toString());
+        }
+        return stale;
+    }
 
-            return suggestions.stream()
-                    .flatMap(s -> s.completion().options().stream())
-                    .map(CompletionSuggestOption::text)
-                    .toList();
+    private <T> T fallback(String operation, Object key, String description, Throwable failure) {
+        T stale = stale(operation, key, failure);
+        if (stale == null) {
+            throw failure(description, failure);
+        }
+        return stale;
+    }
 
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
 
-        } catch (IOException e) {
-            log.error("Autocomplete suggestion failed", e);
-            return Collections.emptyList();
+    /**
+     * What every search endpoint answers when a call to the backend fails: 503 when the backend
+     * is at fault (see {@link BackendGuard#isBackendFailure}), logging the cause once, and 400
+     * with the backend's reason when it rejected the request, such as a page beyond the result
+     * window. A {@link ResponseStatusException} is passed through unchanged.
+     */
+    static ResponseStatusException failure(String operation, Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof ResponseStatusException e) {
+            return e;
         }
+        if (!BackendGuard.isBackendFailure(cause)) {
+            String reason = cause instanceof ElasticsearchException e && e.error().reason() != null
+                    ? e.error().reason()
+                    : cause.getMessage();
+            log.debug("{} rejected: {}", operation, reason);
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, reason, cause);
+        }
+        log.error("{} failed", operation, cause);
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, operation + " is temporarily unavailable", cause);
+    }
+
+    private record SearchKey(CourseSearchQuery query, CourseProjection<?> projection) {
     }
-}
\ No newline at end of file
+}
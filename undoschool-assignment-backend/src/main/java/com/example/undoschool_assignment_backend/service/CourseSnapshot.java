@@ -0,0 +1,151 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * A read-only structure built from one value per course, kept in the JVM by the components
+ * that answer queries without Elasticsearch. The values are loaded from the index whenever it
+ * is replaced and patched from {@link CoursesIndexedEvent}s in between. Loading and rebuilding
+ * both run on one background thread, and {@link #current()} keeps returning the previous
+ * structure until the new one is ready.
+ *
+ * @param <V> what is kept per course
+ * @param <S> the structure built from all values
+ */
+@Slf4j
+final class CourseSnapshot<V, S> {
+
+    private static final int SCAN_BATCH = 1000;
+
+    private final String name;
+    private final CourseIndexScanner scanner;
+    private final List<String> includes;
+    private final List<String> excludes;
+    private final Function<CourseDocument, V> value;
+    private final Function<Collection<V>, S> build;
+    private final Map<String, V> valuesById = new ConcurrentHashMap<>();
+    /** Ids changed by events while a load is scanning the index; the event wins over the scan. */
+    private final Set<String> changedDuringLoad = new HashSet<>();
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ExecutorService rebuilder;
+
+    private volatile S current;
+    private volatile boolean ready;
+    private boolean loading;
+
+    /**
+     * @param name     used in log messages and to name the background thread
+     * @param includes source fields to load, or empty for all of them
+     * @param excludes source fields to leave out
+     * @param value    what to keep of a course, or null to leave the course out
+     * @param build    builds the structure from all values; called with none for the initial one
+     */
+    CourseSnapshot(String name, CourseIndexScanner scanner, List<String> includes, List<String> excludes,
+                   Function<CourseDocument, V> value, Function<Collection<V>, S> build) {
+        this.name = name;
+        this.scanner = scanner;
+        this.includes = includes;
+        this.excludes = excludes;
+        this.value = value;
+        this.build = build;
+        this.current = build.apply(List.of());
+        this.rebuilder = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name(name.replace(' ', '-') + "-rebuild").daemon().factory());
+    }
+
+    S current() {
+        return current;
+    }
+
+    /** Whether the first load has completed. */
+    boolean isReady() {
+        return ready;
+    }
+
+    void onIndexed(CoursesIndexedEvent event) {
+        if (!CourseIndexManager.ALIAS.equals(event.index())) {
+            return;
+        }
+        synchronized (changedDuringLoad) {
+            for (CourseDocument course : event.upserts()) {
+                V kept = value.apply(course);
+                if (kept == null) {
+                    valuesById.remove(course.getId());
+                } else {
+                    valuesById.put(course.getId(), kept);
+                }
+            }
+            event.deletedIds().forEach(valuesById::remove);
+            if (loading) {
+                event.upserts().forEach(course -> changedDuringLoad.add(course.getId()));
+                changedDuringLoad.addAll(event.deletedIds());
+            }
+        }
+        scheduleRebuild();
+    }
+
+    void onReplaced(CourseIndexReplacedEvent event) {
+        rebuilder.execute(() -> load(event.activeIndex()));
+    }
+
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    private void load(String activeIndex) {
+        synchronized (changedDuringLoad) {
+            loading = true;
+            changedDuringLoad.clear();
+        }
+        try {
+            Map<String, V> loaded = new HashMap<>();
+            scanner.scan(CourseIndexManager.ALIAS, null, includes, excludes, SCAN_BATCH, CourseDocument.class, course -> {
+                V kept = value.apply(course);
+                if (kept != null) {
+                    loaded.put(course.getId(), kept);
+                }
+            });
+            synchronized (changedDuringLoad) {
+                valuesById.keySet().removeIf(id -> !loaded.containsKey(id) && !changedDuringLoad.contains(id));
+                loaded.forEach((id, kept) -> {
+                    if (!changedDuringLoad.contains(id)) {
+                        valuesById.put(id, kept);
+                    }
+                });
+            }
+            current = build.apply(valuesById.values());
+            ready = true;
+            log.info("{} loaded with {} courses from '{}'", name, valuesById.size(), activeIndex);
+        } catch (IOException | RuntimeException e) {
+            log.error("Loading the {} failed, its queries go to Elasticsearch until a load succeeds", name, e);
+        } finally {
+            synchronized (changedDuringLoad) {
+                loading = false;
+                changedDuringLoad.clear();
+            }
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildScheduled.set(false);
+                current = build.apply(valuesById.values());
+            });
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.mapping.DynamicMapping;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Durable record of the courses changed through {@code /api/courses/{id}}, kept in its own
+ * {@code courses_writes} index outside the alias, so it survives restarts and rebuilds and is
+ * shared by every instance. Each entry holds the course as last acknowledged, or a tombstone
+ * for a deleted course. {@link CourseCatalogSync} lays the log over the catalog, so neither a
+ * startup sync nor a rebuild reverts an acknowledged write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourseWriteLog {
+
+    public static final String INDEX = CourseIndexManager.ALIAS + "_writes";
+
+    private static final int SCAN_BATCH = 1000;
+    private static final int BAD_REQUEST = 400;
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final CourseIndexScanner indexScanner;
+
+    private volatile boolean created;
+
+    /**
+     * Records {@code courses} as the latest state of their ids; a null value records a delete.
+     */
+    public void record(Map<String, CourseDocument> courses) throws IOException {
+        if (courses.isEmpty()) {
+            return;
+        }
+        ensureIndex();
+        BulkRequest request = BulkRequest.of(b -> {
+            b.index(INDEX);
+            courses.forEach((id, course) -> b.operations(op -> op.index(i -> i
+                    .id(id)
+                    .document(new Entry(id, course == null, course)))));
+            return b;
+        });
+        BulkResponse response = elasticsearchClient.bulk(request);
+        if (response.errors()) {
+            BulkResponseItem failed = response.items().stream().filter(item -> item.error() != null).findFirst().orElseThrow();
+            throw new IOException("Could not record course write '" + failed.id() + "' in '" + INDEX + "': "
+                    + failed.error().reason());
+        }
+    }
+
+    /**
+     * Every recorded course by id, with a null value for deleted ones; empty before the first write.
+     */
+    public Map<String, CourseDocument> load() throws IOException {
+        Map<String, CourseDocument> courses = new HashMap<>();
+        if (!elasticsearchClient.indices().exists(e -> e.index(INDEX)).value()) {
+            return courses;
+        }
+        indexScanner.scan(INDEX, null, List.of(), SCAN_BATCH, Entry.class,
+                entry -> courses.put(entry.id(), entry.deleted() ? null : entry.course()));
+        return courses;
+    }
+
+    private void ensureIndex() throws IOException {
+        if (created || elasticsearchClient.indices().exists(e -> e.index(INDEX)).value()) {
+            created = true;
+            return;
+        }
+        try {
+            elasticsearchClient.indices().create(c -> c
+                    .index(INDEX)
+                    .mappings(m -> m
+                            .dynamic(DynamicMapping.False)
+                            .properties("id", p -> p.keyword(k -> k))
+                            .properties("deleted", p -> p.boolean_(bo -> bo))
+                            .properties("course", p -> p.object(o -> o.enabled(false)))
+                    )
+            );
+            log.info("Created course write log '{}'", INDEX);
+        } catch (ElasticsearchException e) {
+            // Another instance created it first.
+            if (e.status() != BAD_REQUEST || !"resource_already_exists_exception".equals(e.error().type())) {
+                throw e;
+            }
+        }
+        created = true;
+    }
+
+    record Entry(String id, boolean deleted, CourseDocument course) {
+    }
+}
@@ -0,0 +1,487 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.json.JsonData;
+import com.example.undoschool_assignment_backend.config.IndexProperties;
+import com.example.undoschool_assignment_backend.config.WriteQueueProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for single-course changes. Writes are held per course id until the next
+ * flush: a later write to the same course replaces or, for a partial update, is merged into
+ * the pending one, so a burst of edits to one course costs a single bulk item. A flush sends up
+ * to {@code max-batch-operations} courses in one bulk request, every {@code flush-interval} or
+ * as soon as a batch is full, and leaves visibility to the index refresh interval.
+ * <p>
+ * Callers passing {@code waitFor} get a future that completes once their change is searchable:
+ * the bulk request carrying it is sent with {@code refresh=wait_for}. Everyone else is answered
+ * as soon as the write is queued. Flushes run on a single thread, so writes to one course reach
+ * Elasticsearch in the order they were made. A write that failed with a transient error is
+ * retried after {@code initial-backoff}, doubled on every further attempt; newer writes to the
+ * same course wait with it.
+ * <p>
+ * Every acknowledged write is also recorded in the {@link CourseWriteLog} before its callers
+ * are answered, so the catalog syncs on startup and on rebuilds replay it instead of reverting
+ * it. A write the log could not take is retried with every flush.
+ * <p>
+ * While a rebuild or rollback is moving the {@code courses} alias, the version it moves away
+ * from carries a write block and Elasticsearch rejects writes to it. Rejected writes are held,
+ * without using up their retries, and sent again every {@code initial-backoff} until the alias
+ * points at the new version.
+ * <p>
+ * {@code courses.writes.visible.lag{refresh=none|wait_for}} times each write from being queued
+ * until it is searchable: for {@code wait_for} batches until Elasticsearch acknowledged them
+ * after the refresh, otherwise until the acknowledgement plus one refresh interval, the latest
+ * the write can become visible;
+ * {@code courses.writes.pending} gauges the courses waiting for a flush,
+ * {@code courses.writes.coalesced} counts writes merged into a pending one and
+ * {@code courses.writes.failed{status}} counts writes Elasticsearch did not apply.
+ */
+@Slf4j
+@Service
+public class CourseWriteQueue {
+
+    private static final Set<String> PATCHABLE = Set.of("title", "description", "category", "type", "gradeRange",
+            "minAge", "maxAge", "price", "nextSessionDate");
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int FORBIDDEN = 403;
+    private static final String CLUSTER_BLOCK = "cluster_block_exception";
+    private static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(1);
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final WriteQueueProperties properties;
+    private final CourseWriteLog writeLog;
+    private final IndexGeneration indexGeneration;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration refreshInterval;
+    private final Counter coalesced;
+    private final Map<String, PendingWrite> pending = new LinkedHashMap<>();
+    /** Acknowledged writes the write log has not taken yet, null for deletes; flusher thread only. */
+    private final Map<String, CourseDocument> unlogged = new LinkedHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("course-writes").daemon().factory());
+
+    public CourseWriteQueue(ElasticsearchClient elasticsearchClient, WriteQueueProperties properties,
+                            CourseWriteLog writeLog, IndexProperties indexProperties,
+                            IndexGeneration indexGeneration, ApplicationEventPublisher eventPublisher,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.elasticsearchClient = elasticsearchClient;
+        this.properties = properties;
+        this.writeLog = writeLog;
+        this.indexGeneration = indexGeneration;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.refreshInterval = parseRefreshInterval(indexProperties.getRefreshInterval());
+        this.coalesced = meterRegistry.counter("courses.writes.coalesced");
+        meterRegistry.gauge("courses.writes.pending", Tags.empty(), this, CourseWriteQueue::pendingCount);
+        long interval = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Replaces the course {@code id} with {@code course}, creating it if it does not exist.
+     */
+    public CompletableFuture<CourseWriteResult> upsert(String id, CourseDocument course, boolean waitFor) {
+        if (course.getId() != null && !course.getId().equals(id)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Course id '" + course.getId() + "' does not match '" + id + "'");
+        }
+        course.setId(id);
+        course.buildSuggest();
+        return submit(id, Write.upsert(course), waitFor);
+    }
+
+    /**
+     * Sets the fields present in {@code fields} on the existing course {@code id}; with
+     * {@code waitFor} the future fails with 404 if there is no such course.
+     */
+    public CompletableFuture<CourseWriteResult> patch(String id, ObjectNode fields, boolean waitFor) {
+        for (Iterator<String> names = fields.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!PATCHABLE.contains(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Field cannot be updated: " + name);
+            }
+        }
+        CourseDocument parsed;
+        try {
+            parsed = objectMapper.treeToValue(fields, CourseDocument.class);
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid course fields: " + e.getOriginalMessage());
+        }
+        ObjectNode partial = fields.deepCopy();
+        if (parsed.getTitle() != null) {
+            parsed.buildSuggest();
+            partial.set("suggest", objectMapper.valueToTree(parsed.getSuggest()));
+        }
+        return submit(id, Write.patch(partial), waitFor);
+    }
+
+    public CompletableFuture<CourseWriteResult> delete(String id, boolean waitFor) {
+        return submit(id, Write.delete(), waitFor);
+    }
+
+    private CompletableFuture<CourseWriteResult> submit(String id, Write write, boolean waitFor) {
+        CompletableFuture<CourseWriteResult> result = new CompletableFuture<>();
+        boolean batchFull;
+        synchronized (pending) {
+            PendingWrite current = pending.get(id);
+            if (current == null) {
+                if (pending.size() >= properties.getMaxPending()) {
+                    throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending course writes");
+                }
+                current = new PendingWrite(write, System.nanoTime());
+                pending.put(id, current);
+            } else {
+                current.write = merge(current.write, write);
+                coalesced.increment();
+            }
+            current.waitFor |= waitFor;
+            current.waiters.add(result);
+            batchFull = pending.size() >= properties.getMaxBatchOperations();
+        }
+        if (batchFull) {
+            flusher.execute(this::flushAll);
+        }
+        return waitFor ? result : CompletableFuture.completedFuture(CourseWriteResult.queued(id));
+    }
+
+    /**
+     * {@code next} applied on top of the pending {@code current} write to the same course.
+     */
+    private Write merge(Write current, Write next) {
+        if (next.kind() != Kind.PATCH) {
+            return next;
+        }
+        return switch (current.kind()) {
+            case UPSERT -> {
+                ObjectNode merged = objectMapper.valueToTree(current.course());
+                merged.setAll(next.fields());
+                try {
+                    yield Write.upsert(objectMapper.treeToValue(merged, CourseDocument.class));
+                } catch (JsonProcessingException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid course fields: " + e.getOriginalMessage());
+                }
+            }
+            case PATCH -> {
+                ObjectNode merged = current.fields().deepCopy();
+                merged.setAll(next.fields());
+                yield Write.patch(merged);
+            }
+            case DELETE -> throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course is being deleted");
+        };
+    }
+
+    void flushAll() {
+        try {
+            recordWrites(Map.of());
+            while (flushBatch()) {
+                // keep going while full batches are waiting
+            }
+        } catch (RuntimeException e) {
+            log.error("Flushing course writes failed", e);
+        }
+    }
+
+    /**
+     * Sends one batch of writes that are not backing off and returns whether it was full, so
+     * another one may be waiting.
+     */
+    private boolean flushBatch() {
+        Map<String, PendingWrite> batch = new LinkedHashMap<>();
+        long now = System.nanoTime();
+        synchronized (pending) {
+            Iterator<Map.Entry<String, PendingWrite>> entries = pending.entrySet().iterator();
+            while (entries.hasNext() && batch.size() < properties.getMaxBatchOperations()) {
+                Map.Entry<String, PendingWrite> entry = entries.next();
+                if (entry.getValue().retryAtNanos - now > 0) {
+                    continue;
+                }
+                batch.put(entry.getKey(), entry.getValue());
+                entries.remove();
+            }
+        }
+        if (batch.isEmpty()) {
+            return false;
+        }
+        boolean waitFor = batch.values().stream().anyMatch(write -> write.waitFor);
+        BulkRequest request = BulkRequest.of(b -> {
+            b.index(CourseIndexManager.ALIAS);
+            batch.forEach((id, write) -> b.operations(operation(id, write.write)));
+            if (waitFor) {
+                b.refresh(Refresh.WaitFor);
+            }
+            return b;
+        });
+        BulkResponse response;
+        try {
+            response = elasticsearchClient.bulk(request);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Bulk request with {} course writes failed, retrying with backoff: {}", batch.size(), e.toString());
+            batch.forEach((id, write) -> requeue(id, write, 0, e.toString()));
+            return false;
+        }
+        completed(batch, response.items(), waitFor);
+        return batch.size() >= properties.getMaxBatchOperations();
+    }
+
+    private void completed(Map<String, PendingWrite> batch, List<BulkResponseItem> items, boolean waitFor) {
+        // Without wait_for the write is searchable at the latest one refresh after the acknowledgement.
+        long visible = System.nanoTime() + (waitFor ? 0 : refreshInterval.toNanos());
+        Timer lag = Timer.builder("courses.writes.visible.lag")
+                .tag("refresh", waitFor ? "wait_for" : "none")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        List<CourseDocument> upserts = new ArrayList<>();
+        List<String> deletedIds = new ArrayList<>();
+        Map<String, CourseDocument> acknowledged = new LinkedHashMap<>();
+        List<Runnable> answers = new ArrayList<>();
+        Iterator<Map.Entry<String, PendingWrite>> writes = batch.entrySet().iterator();
+        for (BulkResponseItem item : items) {
+            Map.Entry<String, PendingWrite> entry = writes.next();
+            String id = entry.getKey();
+            PendingWrite write = entry.getValue();
+            if (item.error() != null) {
+                if (item.status() == FORBIDDEN && CLUSTER_BLOCK.equals(item.error().type())) {
+                    hold(id, write);
+                } else if (item.status() == TOO_MANY_REQUESTS) {
+                    requeue(id, write, item.status(), item.error().reason());
+                } else {
+                    fail(id, write, item.status(), item.error().reason());
+                }
+                continue;
+            }
+            lag.record(visible - write.enqueuedNanos, TimeUnit.NANOSECONDS);
+            switch (write.write.kind()) {
+                case UPSERT -> {
+                    upserts.add(write.write.course());
+                    acknowledged.put(id, write.write.course());
+                }
+                case DELETE -> {
+                    deletedIds.add(id);
+                    acknowledged.put(id, null);
+                }
+                case PATCH -> {
+                    CourseDocument updated = updatedSource(item);
+                    if (updated != null) {
+                        upserts.add(updated);
+                        acknowledged.put(id, updated);
+                    } else {
+                        log.warn("No updated source for course '{}', the write log keeps its previous state", id);
+                    }
+                }
+            }
+            CourseWriteResult result = new CourseWriteResult(id, item.result());
+            answers.add(() -> write.waiters.forEach(waiter -> waiter.complete(result)));
+        }
+        recordWrites(acknowledged);
+        answers.forEach(Runnable::run);
+        if (!upserts.isEmpty() || !deletedIds.isEmpty()) {
+            indexGeneration.advance();
+            eventPublisher.publishEvent(new CoursesIndexedEvent(CourseIndexManager.ALIAS, upserts, deletedIds));
+            if (!waitFor && !flusher.isShutdown()) {
+                // Results cached between the acknowledgement and the next refresh would still show the old course.
+                flusher.schedule(indexGeneration::advance, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Records {@code acknowledged} together with anything an earlier flush could not record.
+     */
+    private void recordWrites(Map<String, CourseDocument> acknowledged) {
+        unlogged.putAll(acknowledged);
+        if (unlogged.isEmpty()) {
+            return;
+        }
+        try {
+            writeLog.record(new LinkedHashMap<>(unlogged));
+            unlogged.clear();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not record {} course writes in '{}', retrying on the next flush: {}",
+                    unlogged.size(), CourseWriteLog.INDEX, e.toString());
+        }
+    }
+
+    /**
+     * The whole course after a partial update, as returned by the update's {@code _source}.
+     */
+    private CourseDocument updatedSource(BulkResponseItem item) {
+        if (item.get() == null || item.get().source() == null) {
+            return null;
+        }
+        ObjectNode source = objectMapper.createObjectNode();
+        for (Map.Entry<String, JsonData> field : item.get().source().entrySet()) {
+            source.set(field.getKey(), field.getValue().to(JsonNode.class));
+        }
+        source.remove("suggest");
+        try {
+            return objectMapper.treeToValue(source, CourseDocument.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not read updated course {}: {}", item.id(), e.getOriginalMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Puts a write whose bulk request failed back in front of any newer write to the same course,
+     * to be sent again once its backoff has passed.
+     */
+    private void requeue(String id, PendingWrite failed, int status, String reason) {
+        if (failed.attempt >= properties.getMaxRetries()) {
+            fail(id, failed, status == 0 ? HttpStatus.SERVICE_UNAVAILABLE.value() : status,
+                    "Gave up after " + failed.attempt + " retries: " + reason);
+            return;
+        }
+        failed.retryAtNanos = System.nanoTime()
+                + (properties.getInitialBackoff().toNanos() << Math.min(failed.attempt, 16));
+        failed.attempt++;
+        putBack(id, failed);
+    }
+
+    /**
+     * Puts back a write rejected by the write block of an index the alias is moving away from,
+     * to be sent again after {@code initial-backoff}.
+     */
+    private void hold(String id, PendingWrite blocked) {
+        blocked.retryAtNanos = System.nanoTime() + properties.getInitialBackoff().toNanos();
+        putBack(id, blocked);
+    }
+
+    private void putBack(String id, PendingWrite failed) {
+        synchronized (pending) {
+            PendingWrite newer = pending.get(id);
+            if (newer == null) {
+                pending.put(id, failed);
+                return;
+            }
+            try {
+                newer.write = merge(failed.write, newer.write);
+            } catch (ResponseStatusException e) {
+                newer.waiters.forEach(waiter -> waiter.completeExceptionally(e));
+                newer.waiters.clear();
+                newer.write = failed.write;
+            }
+            newer.waiters.addAll(0, failed.waiters);
+            newer.waitFor |= failed.waitFor;
+            newer.enqueuedNanos = failed.enqueuedNanos;
+            newer.attempt = failed.attempt;
+            newer.retryAtNanos = failed.retryAtNanos;
+        }
+    }
+
+    private void fail(String id, PendingWrite write, int status, String reason) {
+        meterRegistry.counter("courses.writes.failed", "status", String.valueOf(status)).increment();
+        log.warn("Course write {} for '{}' failed: [{}] {}", write.write.kind(), id, status, reason);
+        HttpStatusCode code = status == 0 ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatusCode.valueOf(status);
+        ResponseStatusException failure = new ResponseStatusException(code, reason);
+        write.waiters.forEach(waiter -> waiter.completeExceptionally(failure));
+    }
+
+    private static BulkOperation operation(String id, Write write) {
+        return switch (write.kind()) {
+            case UPSERT -> BulkOperation.of(op -> op.index(i -> i.id(id).document(write.course())));
+            case PATCH -> BulkOperation.of(op -> op.update(u -> u
+                    .id(id)
+                    .action(a -> a.doc(write.fields()).source(s -> s.fetch(true)))));
+            case DELETE -> BulkOperation.of(op -> op.delete(d -> d.id(id)));
+        };
+    }
+
+    private static Duration parseRefreshInterval(String refreshInterval) {
+        try {
+            Duration parsed = DurationStyle.detectAndParse(refreshInterval);
+            return parsed.isNegative() || parsed.isZero() ? DEFAULT_REFRESH_INTERVAL : parsed;
+        } catch (IllegalArgumentException e) {
+            return DEFAULT_REFRESH_INTERVAL;
+        }
+    }
+
+    private int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.execute(this::flushAll);
+        flusher.shutdown();
+        if (!flusher.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("{} course writes were not flushed before shutdown", pendingCount());
+            flusher.shutdownNow();
+        }
+    }
+
+    private enum Kind {
+        UPSERT, PATCH, DELETE
+    }
+
+    private record Write(Kind kind, CourseDocument course, ObjectNode fields) {
+
+        static Write upsert(CourseDocument course) {
+            return new Write(Kind.UPSERT, course, null);
+        }
+
+        static Write patch(ObjectNode fields) {
+            return new Write(Kind.PATCH, null, fields);
+        }
+
+        static Write delete() {
+            return new Write(Kind.DELETE, null, null);
+        }
+    }
+
+    /** Guarded by the {@code pending} map until it is taken into a batch. */
+    private static final class PendingWrite {
+
+        private final List<CompletableFuture<CourseWriteResult>> waiters = new ArrayList<>();
+        private Write write;
+        private long enqueuedNanos;
+        private boolean waitFor;
+        private int attempt;
+        private long retryAtNanos;
+
+        PendingWrite(Write write, long enqueuedNanos) {
+            this.write = write;
+            this.enqueuedNanos = enqueuedNanos;
+            this.retryAtNanos = enqueuedNanos;
+        }
+    }
+}
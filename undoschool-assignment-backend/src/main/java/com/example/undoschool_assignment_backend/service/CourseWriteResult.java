@@ -0,0 +1,13 @@
+package com.example.undoschool_assignment_backend.service;
+
+/**
+ * Outcome of a course write: {@code queued} when the caller did not wait for it, otherwise the
+ * bulk item result reported by Elasticsearch ({@code created}, {@code updated}, {@code deleted},
+ * {@code noop} or {@code not_found}).
+ */
+public record CourseWriteResult(String id, String result) {
+
+    public static CourseWriteResult queued(String id) {
+        return new CourseWriteResult(id, "queued");
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+
+import java.util.List;
+
+/**
+ * Published after a bulk request with the operations Elasticsearch acknowledged, so in-memory
+ * views can follow indexing incrementally. {@code index} is the name the session wrote to:
+ * the {@code courses} alias for live writes, a {@code courses_v{n}} name during a rebuild.
+ */
+public record CoursesIndexedEvent(String index, List<CourseDocument> upserts, List<String> deletedIds) {
+}
@@ -0,0 +1,128 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import com.example.undoschool_assignment_backend.config.CursorProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Encodes the state of a cursor walk (point-in-time id, last sort values and the query itself)
+ * into an opaque URL-safe token, so follow-up requests only need to send the token back.
+ * <p>
+ * Tokens are signed with an HMAC over {@code courses.search.cursor.secret}: the query inside is
+ * trusted on the way back, so an edited token is rejected as malformed rather than decoded.
+ */
+@Component
+public class CursorCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final char SEPARATOR = '.';
+
+    private final ObjectMapper objectMapper;
+    private final CursorProperties properties;
+    private final SecretKeySpec key;
+
+    public CursorCodec(ObjectMapper objectMapper, CursorProperties properties) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        byte[] secret = properties.getSecret().getBytes(StandardCharsets.UTF_8);
+        if (secret.length == 0) {
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    /**
+     * Rejects a query a cursor walk would not accept back, so the walk fails on its first page.
+     */
+    public void check(CourseSearchQuery query) {
+        if (query.size() < 1 || query.size() > properties.getMaxSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cursor pages hold between 1 and " + properties.getMaxSize() + " courses");
+        }
+    }
+
+    public String encode(String pitId, List<FieldValue> searchAfter, CourseSearchQuery query) {
+        List<Object> values = new ArrayList<>(searchAfter.size());
+        for (FieldValue value : searchAfter) {
+            values.add(value._get());
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(new Token(pitId, values, query));
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            return encoder.encodeToString(json) + SEPARATOR + encoder.encodeToString(sign(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cursor could not be encoded", e);
+        }
+    }
+
+    public Token decode(String cursor) {
+        Token token;
+        try {
+            int separator = cursor.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw malformed();
+            }
+            byte[] json = Base64.getUrlDecoder().decode(cursor.substring(0, separator));
+            byte[] signature = Base64.getUrlDecoder().decode(cursor.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(json), signature)) {
+                throw malformed();
+            }
+            token = objectMapper.readValue(json, Token.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw malformed();
+        }
+        if (token.pitId() == null || token.searchAfter() == null || token.query() == null) {
+            throw malformed();
+        }
+        check(token.query());
+        return token;
+    }
+
+    private byte[] sign(byte[] json) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(json);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cursor could not be signed", e);
+        }
+    }
+
+    private static ResponseStatusException malformed() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed cursor");
+    }
+
+    public record Token(String pitId, List<Object> searchAfter, CourseSearchQuery query) {
+
+        public List<FieldValue> searchAfterValues() {
+            List<FieldValue> values = new ArrayList<>(searchAfter.size());
+            for (Object value : searchAfter) {
+                values.add(switch (value) {
+                    case null -> FieldValue.NULL;
+                    case Integer i -> FieldValue.of(i.longValue());
+                    case Long l -> FieldValue.of(l);
+                    case Number n -> FieldValue.of(n.doubleValue());
+                    case Boolean b -> FieldValue.of(b);
+                    default -> FieldValue.of(value.toString());
+                });
+            }
+            return values;
+        }
+    }
+}
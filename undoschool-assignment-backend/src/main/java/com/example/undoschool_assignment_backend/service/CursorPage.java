@@ -0,0 +1,9 @@
+package com.example.undoschool_assignment_backend.service;
+
+import java.util.List;
+
+/**
+ * One page of a cursor walk. {@code nextCursor} is null once the results are exhausted.
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {
+}
@@ -0,0 +1,137 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.ResponseBody;
+import com.example.undoschool_assignment_backend.config.BatchSearchProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Searches the {@code courses} alias with the async client and completes titles with the
+ * completion suggester. This is the default backend.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "courses.search.backend", havingValue = "elasticsearch", matchIfMissing = true)
+public class ElasticsearchSearchBackend implements CourseSearchBackend {
+
+    private final ElasticsearchAsyncClient elasticsearchAsyncClient;
+    private final CourseQueryBuilder queryBuilder;
+    private final ElasticsearchTitleSuggester titleSuggester;
+    private final SearchMetrics searchMetrics;
+    private final BatchSearchProperties batchProperties;
+
+    @Override
+    public String name() {
+        return "elasticsearch";
+    }
+
+    /**
+     * Count-only requests ({@code size=0}) opt into Elasticsearch's shard request cache, which
+     * only pays off because the query's filters are rounded and therefore repeat.
+     */
+    @Override
+    public <T> CompletableFuture<Page<T>> search(CourseSearchQuery query, CourseProjection<T> projection) {
+        long start = System.nanoTime();
+        SearchRequest request = SearchRequest.of(s -> s
+                .index(CourseIndexManager.ALIAS)
+                .from(query.page() * query.size())
+                .size(query.size())
+                .query(queryBuilder.query(query))
+                .sort(queryBuilder.sort(query))
+                .source(projection.source())
+                .requestCache(query.size() == 0 ? Boolean.TRUE : null)
+        );
+
+        long sent = System.nanoTime();
+        return elasticsearchAsyncClient.search(request, projection.type())
+                .thenApply(response -> {
+                    searchMetrics.recordRoundTrip("search", request, sent - start, System.nanoTime() - sent, response.took());
+                    return toPage(response, query);
+                });
+    }
+
+    /**
+     * Sends all queries as one {@code _msearch} request. Elasticsearch answers each search on its
+     * own, so a failed search fails only its future; a failure of the whole request fails all.
+     */
+    @Override
+    public <T> List<CompletableFuture<Page<T>>> searchAll(List<CourseSearchQuery> queries, CourseProjection<T> projection) {
+        long start = System.nanoTime();
+        MsearchRequest request = MsearchRequest.of(m -> {
+            m.index(CourseIndexManager.ALIAS)
+                    .maxConcurrentSearches((long) batchProperties.getMaxConcurrentSearches());
+            for (CourseSearchQuery query : queries) {
+                m.searches(s -> s
+                        .header(h -> h.requestCache(query.size() == 0 ? Boolean.TRUE : null))
+                        .body(b -> b
+                                .from(query.page() * query.size())
+                                .size(query.size())
+                                .query(queryBuilder.query(query))
+                                .sort(queryBuilder.sort(query))
+                                .source(projection.source())
+                        )
+                );
+            }
+            return m;
+        });
+
+        long sent = System.nanoTime();
+        CompletableFuture<MsearchResponse<T>> response = elasticsearchAsyncClient.msearch(request, projection.type())
+                .thenApply(r -> {
+                    searchMetrics.recordRoundTrip("msearch", request, sent - start, System.nanoTime() - sent, r.took());
+                    return r;
+                });
+        List<CompletableFuture<Page<T>>> pages = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            int item = i;
+            pages.add(response.thenApply(r -> toPage(r.responses().get(item), queries.get(item))));
+        }
+        return pages;
+    }
+
+    @Override
+    public CompletableFuture<List<String>> suggest(String prefix, int size) {
+        return titleSuggester.suggestAsync(prefix, size);
+    }
+
+    static <T> Page<T> toPage(MultiSearchResponseItem<T> item, CourseSearchQuery query) {
+        if (item.isFailure()) {
+            throw new ElasticsearchException("msearch", item.failure());
+        }
+        return toPage(item.result(), query);
+    }
+
+    /**
+     * The page of {@code query} that {@code response} holds; public for the benchmarks module.
+     */
+    public static <T> Page<T> toPage(ResponseBody<T> response, CourseSearchQuery query) {
+        List<Hit<T>> sources = response.hits().hits();
+        List<T> hits = new ArrayList<>(sources.size());
+        for (Hit<T> hit : sources) {
+            hits.add(hit.source());
+        }
+
+        long total = response.hits().total() != null ? response.hits().total().value() : 0;
+        return page(hits, query, total);
+    }
+
+    static <T> Page<T> page(List<T> hits, CourseSearchQuery query, long total) {
+        // PageRequest needs a positive size; a size=0 search only asks for the total.
+        return new PageImpl<>(hits, PageRequest.of(query.page(), Math.max(query.size(), 1)), total);
+    }
+}
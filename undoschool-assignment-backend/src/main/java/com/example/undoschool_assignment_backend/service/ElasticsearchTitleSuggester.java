@@ -0,0 +1,118 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.CompletionSuggestOption;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.Suggestion;
+import com.example.undoschool_assignment_backend.config.IndexProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Suggestions from the completion suggester on the {@code suggest} field, or, with
+ * {@code courses.index.title-autocomplete=search_as_you_type}, from a {@code bool_prefix}
+ * match on the title's {@code search_as_you_type} sub-field, which also completes words in
+ * the middle of a title. The sub-field is only queried once {@link CourseMappingValidator}
+ * has found it in the live index; an index built before the setting changed keeps using the
+ * completion suggester until it is rebuilt.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ElasticsearchTitleSuggester implements TitleSuggester {
+
+    private static final String SUGGESTER = "course-suggest";
+
+    private final ElasticsearchClient elasticsearchClient;
+    private final ElasticsearchAsyncClient elasticsearchAsyncClient;
+    private final IndexProperties indexProperties;
+
+    private volatile boolean autocompleteMapped;
+
+    @Override
+    public List<String> suggest(String prefix, int size) throws IOException {
+        return options(elasticsearchClient.search(request(prefix, size), CourseDocument.class), size);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> suggestAsync(String prefix, int size) {
+        return elasticsearchAsyncClient.search(request(prefix, size), CourseDocument.class)
+                .thenApply(response -> options(response, size));
+    }
+
+    private SearchRequest request(String prefix, int size) {
+        if (searchAsYouType()) {
+            String field = CourseIndexTemplate.AUTOCOMPLETE_FIELD;
+            return SearchRequest.of(s -> s
+                    .index(CourseIndexManager.ALIAS)
+                    // Several courses can share a title, so fetch extra hits to fill the list after removing duplicates.
+                    .size(size * 3)
+                    .trackTotalHits(t -> t.enabled(false))
+                    .source(src -> src.filter(f -> f.includes("title")))
+                    .query(q -> q.multiMatch(m -> m
+                            .query(prefix)
+                            .type(TextQueryType.BoolPrefix)
+                            .fields(field, field + "._2gram", field + "._3gram")
+                    ))
+            );
+        }
+        return SearchRequest.of(s -> s
+                .index(CourseIndexManager.ALIAS)
+                .suggest(sg -> sg
+                        .suggesters(SUGGESTER, sug -> sug
+                                .prefix(prefix)
+                                .completion(c -> c
+                                        .field("suggest")
+                                        .skipDuplicates(true)
+                                        .size(size)
+                                )
+                        )
+                )
+        );
+    }
+
+    private List<String> options(SearchResponse<CourseDocument> resp, int size) {
+        if (searchAsYouType()) {
+            return resp.hits().hits().stream()
+                    .map(Hit::source)
+                    .filter(Objects::nonNull)
+                    .map(CourseDocument::getTitle)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .limit(size)
+                    .toList();
+        }
+        List<Suggestion<CourseDocument>> suggestions =
+                resp.suggest().get(SUGGESTER);
+
+        log.debug("Response from ES: {}", resp);
+
+        return suggestions.stream()
+                .flatMap(s -> s.completion().options().stream())
+                .map(CompletionSuggestOption::text)
+                .toList();
+    }
+
+    /**
+     * Whether the index behind the alias maps {@link CourseIndexTemplate#AUTOCOMPLETE_FIELD}.
+     */
+    public void useAutocompleteField(boolean mapped) {
+        this.autocompleteMapped = mapped;
+    }
+
+    public boolean searchAsYouType() {
+        return autocompleteMapped
+                && indexProperties.getTitleAutocomplete() == IndexProperties.TitleAutocomplete.SEARCH_AS_YOU_TYPE;
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.CatalogProperties;
+import com.example.undoschool_assignment_backend.config.EmbeddedSearchProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoubleDocValuesField;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Answers searches and suggestions from a Lucene index inside the JVM, for deployments and
+ * tests without an Elasticsearch cluster. The index is built from the catalog at startup and
+ * mirrors the {@code courses} mapping and {@link CourseQueryBuilder}'s queries: a fuzzy
+ * best-fields match on {@code title^2} and {@code description} with {@code AUTO} fuzziness,
+ * exact category and type filters, range filters on age, price and session date, and the same
+ * three sort orders with missing values last. Titles are completed by a {@link TitleSuggestIndex}.
+ * <p>
+ * The index is read-only: courses indexed through the API or the admin endpoints only reach
+ * Elasticsearch.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "courses.search.backend", havingValue = "embedded")
+public class EmbeddedSearchBackend implements CourseSearchBackend {
+
+    /** Elasticsearch's default {@code index.max_result_window}. */
+    static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final String SOURCE = "_source";
+    private static final Set<String> SOURCE_ONLY = Set.of(SOURCE);
+    private static final int MAX_EXPANSIONS = 50;
+
+    private final CourseCatalogReader catalogReader;
+    private final CatalogProperties catalogProperties;
+    private final EmbeddedSearchProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper sourceMapper;
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private volatile Snapshot snapshot;
+
+    public EmbeddedSearchBackend(CourseCatalogReader catalogReader, CatalogProperties catalogProperties,
+                                 EmbeddedSearchProperties properties, ObjectMapper objectMapper) {
+        this.catalogReader = catalogReader;
+        this.catalogProperties = catalogProperties;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        // Same shape as the _source the Elasticsearch client writes: ISO dates, no null fields.
+        this.sourceMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    @Override
+    public String name() {
+        return "embedded";
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        long start = System.nanoTime();
+        Directory directory = properties.getIndexPath() != null
+                ? new MMapDirectory(Files.createDirectories(properties.getIndexPath()))
+                : new ByteBuffersDirectory();
+        Map<String, String> titles = new HashMap<>();
+        IndexWriterConfig config = new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        try (IndexWriter writer = new IndexWriter(directory, config)) {
+            catalogReader.read(catalogProperties.getLocation(), course -> {
+                try {
+                    // Like indexing by _id: a later course with the same id replaces the earlier one.
+                    writer.updateDocument(new Term("id", course.getId()), document(course));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                titles.put(course.getId(), course.getTitle());
+            });
+        } catch (UncheckedIOException e) {
+            directory.close();
+            throw e.getCause();
+        }
+        titles.values().removeIf(title -> title == null);
+        DirectoryReader reader = DirectoryReader.open(directory);
+        snapshot = new Snapshot(directory, reader, new IndexSearcher(reader), TitleSuggestIndex.build(titles.values()));
+        log.info("Embedded search index loaded with {} courses from {} in {} ms", reader.numDocs(),
+                catalogProperties.getLocation(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.reader().close();
+            current.directory().close();
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<Page<T>> search(CourseSearchQuery query, CourseProjection<T> projection) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return CompletableFuture.failedFuture(notLoaded());
+        }
+        int from = query.page() * query.size();
+        if ((long) from + query.size() > MAX_RESULT_WINDOW) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Result window is too large, from + size must be at most " + MAX_RESULT_WINDOW));
+        }
+        try {
+            Query luceneQuery = query(query);
+            IndexSearcher searcher = current.searcher();
+            List<T> hits = new ArrayList<>();
+            long total;
+            if (query.size() == 0) {
+                total = searcher.count(luceneQuery);
+            } else {
+                TopFieldDocs top = searcher.search(luceneQuery, from + query.size(), sort(query));
+                total = top.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? top.totalHits.value
+                        : searcher.count(luceneQuery);
+                StoredFields storedFields = searcher.storedFields();
+                for (int i = from; i < top.scoreDocs.length; i++) {
+                    BytesRef source = storedFields.document(top.scoreDocs[i].doc, SOURCE_ONLY).getBinaryValue(SOURCE);
+                    hits.add(read(source, projection));
+                }
+            }
+            return CompletableFuture.completedFuture(ElasticsearchSearchBackend.page(hits, query, total));
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<String>> suggest(String prefix, int size) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return CompletableFuture.failedFuture(notLoaded());
+        }
+        return CompletableFuture.completedFuture(current.titles().topK(prefix, size));
+    }
+
+    private Document document(CourseDocument course) throws IOException {
+        course.buildSuggest();
+        Document document = new Document();
+        document.add(new StringField("id", course.getId(), Field.Store.NO));
+        if (course.getTitle() != null) {
+            document.add(new TextField("title", course.getTitle(), Field.Store.NO));
+        }
+        if (course.getDescription() != null) {
+            document.add(new TextField("description", course.getDescription(), Field.Store.NO));
+        }
+        if (course.getCategory() != null) {
+            document.add(new StringField("category", course.getCategory(), Field.Store.NO));
+        }
+        if (course.getType() != null) {
+            document.add(new StringField("type", course.getType(), Field.Store.NO));
+        }
+        if (course.getMinAge() != null) {
+            document.add(new IntPoint("minAge", course.getMinAge()));
+        }
+        if (course.getMaxAge() != null) {
+            document.add(new IntPoint("maxAge", course.getMaxAge()));
+        }
+        if (course.getPrice() != null) {
+            document.add(new DoublePoint("price", course.getPrice()));
+            document.add(new DoubleDocValuesField("price", course.getPrice()));
+        }
+        if (course.getNextSessionDate() != null) {
+            long millis = course.getNextSessionDate().toInstant().toEpochMilli();
+            document.add(new LongPoint("nextSessionDate", millis));
+            document.add(new NumericDocValuesField("nextSessionDate", millis));
+        }
+        document.add(new StoredField(SOURCE, sourceMapper.writeValueAsBytes(course)));
+        return document;
+    }
+
+    private <T> T read(BytesRef source, CourseProjection<T> projection) throws IOException {
+        ObjectNode node = (ObjectNode) objectMapper.readTree(source.bytes, source.offset, source.length);
+        if (!projection.includes().isEmpty()) {
+            node.retain(projection.includes());
+        }
+        node.remove(projection.excludes());
+        return objectMapper.treeToValue(node, projection.type());
+    }
+
+    private Query query(CourseSearchQuery query) throws IOException {
+        BooleanQuery.Builder bool = new BooleanQuery.Builder()
+                .add(query.hasText() ? textQuery(query.q()) : new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+
+        if (query.category() != null) {
+            bool.add(new TermQuery(new Term("category", query.category())), BooleanClause.Occur.FILTER);
+        }
+        if (query.type() != null) {
+            bool.add(new TermQuery(new Term("type", query.type())), BooleanClause.Occur.FILTER);
+        }
+        if (query.startDate() != null) {
+            bool.add(LongPoint.newRangeQuery("nextSessionDate",
+                    query.startDate().toInstant().toEpochMilli(), Long.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+        if (query.minPrice() != null) {
+            bool.add(DoublePoint.newRangeQuery("price", query.minPrice(), Double.POSITIVE_INFINITY), BooleanClause.Occur.FILTER);
+        }
+        if (query.maxPrice() != null) {
+            bool.add(DoublePoint.newRangeQuery("price", Double.NEGATIVE_INFINITY, query.maxPrice()), BooleanClause.Occur.FILTER);
+        }
+        if (query.minAge() != null) {
+            bool.add(IntPoint.newRangeQuery("maxAge", query.minAge(), Integer.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+        if (query.maxAge() != null) {
+            bool.add(IntPoint.newRangeQuery("minAge", Integer.MIN_VALUE, query.maxAge()), BooleanClause.Occur.FILTER);
+        }
+        return bool.build();
+    }
+
+    /**
+     * {@code multi_match} of type {@code best_fields}: per field, any analysed term may match
+     * within its {@code AUTO} edit distance, and the better scoring field wins.
+     */
+    private Query textQuery(String text) throws IOException {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream("title", text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        }
+        if (terms.isEmpty()) {
+            return new MatchNoDocsQuery();
+        }
+        return new DisjunctionMaxQuery(List.of(
+                new BoostQuery(fuzzyMatch("title", terms), 2f),
+                fuzzyMatch("description", terms)), 0f);
+    }
+
+    /** Not the client's fault: the backend is unavailable until the snapshot is loaded. */
+    private static ResponseStatusException notLoaded() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Embedded search index is not loaded");
+    }
+
+    private static Query fuzzyMatch(String field, List<String> terms) {
+        BooleanQuery.Builder match = new BooleanQuery.Builder();
+        for (String term : terms) {
+            match.add(new FuzzyQuery(new Term(field, term), autoFuzziness(term), 0, MAX_EXPANSIONS, true),
+                    BooleanClause.Occur.SHOULD);
+        }
+        return match.build();
+    }
+
+    /**
+     * Elasticsearch's {@code AUTO}: exact below three characters, one edit up to five, two beyond.
+     */
+    static int autoFuzziness(String term) {
+        int length = term.codePointCount(0, term.length());
+        return length < 3 ? 0 : length < 6 ? 1 : 2;
+    }
+
+    private static Sort sort(CourseSearchQuery query) {
+        if (CourseSearchQuery.SORT_PRICE_ASC.equals(query.sort())) {
+            return new Sort(missingLast(new SortField("price", SortField.Type.DOUBLE), Double.POSITIVE_INFINITY));
+        }
+        if (CourseSearchQuery.SORT_PRICE_DESC.equals(query.sort())) {
+            return new Sort(missingLast(new SortField("price", SortField.Type.DOUBLE, true), Double.NEGATIVE_INFINITY));
+        }
+        return new Sort(missingLast(new SortField("nextSessionDate", SortField.Type.LONG), Long.MAX_VALUE));
+    }
+
+    private static SortField missingLast(SortField field, Object missingValue) {
+        field.setMissingValue(missingValue);
+        return field;
+    }
+
+    private record Snapshot(Directory directory, DirectoryReader reader, IndexSearcher searcher,
+                            TitleSuggestIndex titles) {
+    }
+}
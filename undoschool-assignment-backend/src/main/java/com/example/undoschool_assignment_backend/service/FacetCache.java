@@ -0,0 +1,50 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.FacetProperties;
+import com.example.undoschool_assignment_backend.config.SearchCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Facet counts keyed on {@link CourseSearchQuery#filtersOnly()} and the current
+ * {@link IndexGeneration}, so every page and sort order of a search shares one entry. Published
+ * as {@code cache.*{cache=courses.facets}} meters.
+ */
+@Component
+public class FacetCache {
+
+    private final SearchCacheProperties searchCacheProperties;
+    private final IndexGeneration indexGeneration;
+    private final Cache<Key, Facets> cache;
+
+    public FacetCache(FacetProperties properties, SearchCacheProperties searchCacheProperties,
+                      IndexGeneration indexGeneration, MeterRegistry meterRegistry) {
+        this.searchCacheProperties = searchCacheProperties;
+        this.indexGeneration = indexGeneration;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "courses.facets");
+    }
+
+    public Facets get(CourseSearchQuery query) {
+        if (!searchCacheProperties.isEnabled()) {
+            return null;
+        }
+        return cache.getIfPresent(new Key(indexGeneration.current(), query.filtersOnly()));
+    }
+
+    public void put(CourseSearchQuery query, Facets facets) {
+        if (searchCacheProperties.isEnabled()) {
+            cache.put(new Key(indexGeneration.current(), query.filtersOnly()), facets);
+        }
+    }
+
+    private record Key(long generation, CourseSearchQuery filters) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.undoschool_assignment_backend.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A result page with the facet counts of the whole result set; serialised like any page plus a
+ * {@code facets} object.
+ */
+public class FacetedPage<T> extends PageImpl<T> {
+
+    private final Facets facets;
+
+    public FacetedPage(Page<T> page, Facets facets) {
+        super(page.getContent(), page.getPageable(), page.getTotalElements());
+        this.facets = facets;
+    }
+
+    public Map<String, List<Facets.Bucket>> getFacets() {
+        return facets.facets();
+    }
+}
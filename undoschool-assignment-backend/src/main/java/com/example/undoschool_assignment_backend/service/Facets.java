@@ -0,0 +1,25 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bucket counts per {@link CourseFacet}, keyed on {@link CourseFacet#key()}. Each facet is
+ * counted with every filter except its own, so selecting a value keeps its siblings' counts.
+ */
+public record Facets(Map<String, List<Bucket>> facets) {
+
+    /**
+     * One facet value. Range buckets also carry their bounds ({@code from} inclusive,
+     * {@code to} exclusive for price and date, inclusive for age bands).
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Bucket(String key, long count, Object from, Object to) {
+
+        public static Bucket of(String key, long count) {
+            return new Bucket(key, count, null, null);
+        }
+    }
+}
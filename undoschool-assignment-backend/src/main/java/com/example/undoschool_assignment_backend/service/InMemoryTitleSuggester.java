@@ -0,0 +1,50 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Answers suggestions from a {@link TitleSuggestIndex} held in the JVM, built as a
+ * {@link CourseSnapshot} of the course titles in the index.
+ */
+@Component
+@ConditionalOnProperty(name = "courses.suggest.mode", havingValue = "memory")
+public class InMemoryTitleSuggester implements TitleSuggester {
+
+    private final CourseSnapshot<String, TitleSuggestIndex> snapshot;
+
+    public InMemoryTitleSuggester(CourseIndexScanner scanner) {
+        this.snapshot = new CourseSnapshot<>("in-memory suggest index", scanner, List.of("id", "title"), List.of(),
+                CourseDocument::getTitle, TitleSuggestIndex::build);
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int size) {
+        return snapshot.current().topK(prefix, size);
+    }
+
+    @Override
+    public boolean isReady() {
+        return snapshot.isReady();
+    }
+
+    @EventListener
+    public void onIndexed(CoursesIndexedEvent event) {
+        snapshot.onIndexed(event);
+    }
+
+    @EventListener
+    public void onReplaced(CourseIndexReplacedEvent event) {
+        snapshot.onReplaced(event);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        snapshot.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.undoschool_assignment_backend.service;
+
+/**
+ * Thrown when an index administration request cannot run in the current state: another
+ * rebuild or rollback is in progress, or there is no earlier version to roll back to.
+ */
+public class IndexConflictException extends RuntimeException {
+
+    public IndexConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.undoschool_assignment_backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter advanced whenever the contents behind the {@code courses} alias change. Cached
+ * results are keyed on the generation they were computed in, so advancing it invalidates
+ * every cache at once without having to enumerate entries.
+ */
+@Component
+public class IndexGeneration {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public long current() {
+        return generation.get();
+    }
+
+    public long advance() {
+        return generation.incrementAndGet();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.undoschool_assignment_backend.service;
+
+import java.util.List;
+
+/**
+ * Which physical index the alias points at and which versions are available.
+ */
+public record IndexStatus(String alias, String activeIndex, List<String> versions) {
+}
@@ -0,0 +1,25 @@
+package com.example.undoschool_assignment_backend.service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of an ingestion session. {@code failures} is capped at
+ * {@code courses.ingest.max-reported-failures}; {@code failed} is always the full count.
+ */
+public record IngestionReport(
+        long indexed,
+        long deleted,
+        long failed,
+        long retried,
+        Duration took,
+        List<ItemFailure> failures
+) {
+
+    public boolean hasFailures() {
+        return failed > 0;
+    }
+
+    public record ItemFailure(String id, int status, String reason) {
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkIngester;
+import co.elastic.clients.elasticsearch._helpers.bulk.BulkListener;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import co.elastic.clients.elasticsearch.indices.IndexState;
+import co.elastic.clients.transport.TransportException;
+import com.example.undoschool_assignment_backend.config.IngestionProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A single streaming load into one index. Refresh is switched off when the session opens
+ * and restored (followed by one explicit refresh) when it finishes, so documents become
+ * searchable once at the end instead of on every bulk request.
+ * <p>
+ * Operations are buffered by a {@link BulkIngester}; {@link #index} blocks once
+ * {@code max-concurrent-requests} bulk requests are in flight, which keeps memory flat
+ * regardless of how many documents are pushed through. Items rejected with 429 are
+ * re-submitted with exponential backoff, everything else is recorded as a failure.
+ * Acknowledged operations are published as a {@link CoursesIndexedEvent} per bulk request.
+ */
+@Slf4j
+public class IngestionSession implements AutoCloseable {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final ElasticsearchClient client;
+    private final IngestionProperties properties;
+    private final String index;
+    private final ScheduledExecutorService retryScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Runnable onFinish;
+    private final BulkIngester<PendingOperation> ingester;
+    private final Time previousRefreshInterval;
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong outstanding = new AtomicLong();
+    private final LongAdder indexed = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final AtomicInteger reportedFailures = new AtomicInteger();
+    private final Queue<IngestionReport.ItemFailure> failures = new ConcurrentLinkedQueue<>();
+    private final Object drained = new Object();
+
+    private IngestionReport report;
+
+    IngestionSession(ElasticsearchClient client, IngestionProperties properties, String index,
+                     ScheduledExecutorService retryScheduler, ApplicationEventPublisher eventPublisher,
+                     Runnable onFinish) throws IOException {
+        this.client = client;
+        this.properties = properties;
+        this.index = index;
+        this.retryScheduler = retryScheduler;
+        this.eventPublisher = eventPublisher;
+        this.onFinish = onFinish;
+        this.previousRefreshInterval = disableRefresh();
+        this.ingester = BulkIngester.of(b -> b
+                .client(client)
+                .maxOperations(properties.getMaxOperations())
+                .maxSize(properties.getMaxSize().toBytes())
+                .maxConcurrentRequests(properties.getMaxConcurrentRequests())
+                .flushInterval(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS)
+                .listener(new RetryingListener())
+        );
+    }
+
+    public String index() {
+        return index;
+    }
+
+    public void index(CourseDocument course) {
+        submit(course.getId(), BulkOperation.of(op -> op
+                .index(idx -> idx
+                        .index(index)
+                        .id(course.getId())
+                        .document(course)
+                )
+        ));
+    }
+
+    public void delete(String id) {
+        submit(id, BulkOperation.of(op -> op
+                .delete(d -> d
+                        .index(index)
+                        .id(id)
+                )
+        ));
+    }
+
+    /**
+     * Flushes everything still buffered, waits for in-flight requests and pending retries,
+     * then restores the refresh interval and refreshes the index once. Afterwards the
+     * {@code onFinish} callback given by {@link BulkIngestionService} runs.
+     */
+    public synchronized IngestionReport finish() throws IOException {
+        if (report != null) {
+            return report;
+        }
+        try {
+            awaitDrained();
+        } finally {
+            ingester.close();
+            try {
+                restoreRefresh();
+            } finally {
+                onFinish.run();
+            }
+        }
+        report = new IngestionReport(
+                indexed.sum(),
+                deleted.sum(),
+                failed.sum(),
+                retried.sum(),
+                Duration.ofNanos(System.nanoTime() - startNanos),
+                List.copyOf(failures)
+        );
+        return report;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+    }
+
+    private void submit(String id, BulkOperation operation) {
+        if (report != null) {
+            throw new IllegalStateException("Ingestion session for '" + index + "' is already finished");
+        }
+        outstanding.incrementAndGet();
+        ingester.add(operation, new PendingOperation(id, operation, 0));
+    }
+
+    private void awaitDrained() {
+        long waitMillis = Math.max(10, properties.getFlushInterval().toMillis());
+        while (outstanding.get() > 0) {
+            ingester.flush();
+            synchronized (drained) {
+                if (outstanding.get() > 0) {
+                    try {
+                        drained.wait(waitMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        log.warn("Interrupted while draining ingestion into '{}'; {} operations left", index, outstanding.get());
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private Time disableRefresh() throws IOException {
+        Time current = null;
+        for (IndexState state : client.indices().getSettings(g -> g.index(index)).result().values()) {
+            IndexSettings settings = state.settings();
+            if (settings != null) {
+                current = settings.refreshInterval() != null ? settings.refreshInterval()
+                        : settings.index() != null ? settings.index().refreshInterval() : null;
+            }
+        }
+        client.indices().putSettings(p -> p
+                .index(index)
+                .settings(s -> s.refreshInterval(t -> t.time("-1")))
+        );
+        return current;
+    }
+
+    private void restoreRefresh() throws IOException {
+        Time restored = previousRefreshInterval != null
+                ? previousRefreshInterval
+                : Time.of(t -> t.time(properties.getDefaultRefreshInterval()));
+        client.indices().putSettings(p -> p
+                .index(index)
+                .settings(s -> s.refreshInterval(restored))
+        );
+        client.indices().refresh(r -> r.index(index));
+    }
+
+    private void succeeded(PendingOperation operation) {
+        if (operation.operation().isDelete()) {
+            deleted.increment();
+        } else {
+            indexed.increment();
+        }
+        completed();
+    }
+
+    private void failed(PendingOperation operation, int status, String reason) {
+        failed.increment();
+        if (reportedFailures.getAndIncrement() < properties.getMaxReportedFailures()) {
+            failures.add(new IngestionReport.ItemFailure(operation.id(), status, reason));
+        }
+        completed();
+    }
+
+    private void completed() {
+        if (outstanding.decrementAndGet() == 0) {
+            synchronized (drained) {
+                drained.notifyAll();
+            }
+        }
+    }
+
+    private void retry(PendingOperation operation, int status, String reason) {
+        if (operation.attempt() >= properties.getMaxRetries()) {
+            failed(operation, status, "Gave up after " + operation.attempt() + " retries: " + reason);
+            return;
+        }
+        retried.increment();
+        long delay = properties.getInitialBackoff().toMillis() << Math.min(operation.attempt(), 16);
+        retryScheduler.schedule(() -> {
+            try {
+                ingester.add(operation.operation(), operation.nextAttempt());
+            } catch (RuntimeException e) {
+                failed(operation, status, e.getMessage());
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static int statusOf(Throwable failure) {
+        if (failure instanceof ElasticsearchException e) {
+            return e.status();
+        }
+        if (failure instanceof TransportException e) {
+            return e.statusCode();
+        }
+        return 0;
+    }
+
+    private static boolean isRetryable(Throwable failure) {
+        int status = statusOf(failure);
+        return status == TOO_MANY_REQUESTS || (status == 0 && failure instanceof IOException);
+    }
+
+    private record PendingOperation(String id, BulkOperation operation, int attempt) {
+
+        PendingOperation nextAttempt() {
+            return new PendingOperation(id, operation, attempt + 1);
+        }
+    }
+
+    private class RetryingListener implements BulkListener<PendingOperation> {
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<PendingOperation> contexts) {
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<PendingOperation> contexts,
+                              BulkResponse response) {
+            List<BulkResponseItem> items = response.items();
+            List<PendingOperation> rejected = new ArrayList<>();
+            List<CourseDocument> upserts = new ArrayList<>();
+            List<String> deletedIds = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                BulkResponseItem item = items.get(i);
+                PendingOperation operation = contexts.get(i);
+                if (item.error() == null) {
+                    if (operation.operation().isDelete()) {
+                        deletedIds.add(operation.id());
+                    } else {
+                        upserts.add((CourseDocument) operation.operation().index().document());
+                    }
+                    succeeded(operation);
+                } else if (item.status() == TOO_MANY_REQUESTS) {
+                    rejected.add(operation);
+                } else {
+                    failed(operation, item.status(), item.error().reason());
+                }
+            }
+            if (!upserts.isEmpty() || !deletedIds.isEmpty()) {
+                eventPublisher.publishEvent(new CoursesIndexedEvent(index, upserts, deletedIds));
+            }
+            if (!rejected.isEmpty()) {
+                log.debug("Bulk request {} into '{}': {} items rejected with 429, backing off", executionId, index, rejected.size());
+                rejected.forEach(op -> retry(op, TOO_MANY_REQUESTS, "rejected by cluster"));
+            }
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<PendingOperation> contexts,
+                              Throwable failure) {
+            boolean retryable = isRetryable(failure);
+            log.warn("Bulk request {} into '{}' failed ({} operations, retryable={}): {}",
+                    executionId, index, contexts.size(), retryable, failure.toString());
+            for (PendingOperation operation : contexts) {
+                if (retryable) {
+                    retry(operation, statusOf(failure), failure.toString());
+                } else {
+                    failed(operation, statusOf(failure), failure.toString());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.undoschool_assignment_backend.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A call shed by {@link BackendGuard} without reaching the backend: a 503 asking the client to
+ * retry after a second.
+ */
+public class OverloadedException extends ResponseStatusException {
+
+    private final String shedReason;
+
+    public OverloadedException(String shedReason) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Search is overloaded, retry shortly");
+        this.shedReason = shedReason;
+    }
+
+    /** {@code limit} or {@code circuit_open}. */
+    public String getShedReason() {
+        return shedReason;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
+}
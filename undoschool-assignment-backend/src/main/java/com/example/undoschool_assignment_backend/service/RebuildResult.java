@@ -0,0 +1,9 @@
+package com.example.undoschool_assignment_backend.service;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a blue/green rebuild; {@code sync} is null for a rollback.
+ */
+public record RebuildResult(String previousIndex, String activeIndex, SyncReport sync, Duration took) {
+}
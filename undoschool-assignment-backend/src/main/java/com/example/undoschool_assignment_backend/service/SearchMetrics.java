@@ -0,0 +1,144 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.JsonpSerializable;
+import co.elastic.clients.json.JsonpUtils;
+import com.example.undoschool_assignment_backend.config.SlowQueryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of the search hot path:
+ * <ul>
+ *     <li>{@code courses.search{operation, sort, filters, text, outcome}} - end-to-end time of a
+ *     search including the result cache, as a percentile histogram</li>
+ *     <li>{@code courses.search.phase{operation, phase=build|elasticsearch|transport}} - time spent
+ *     building the request, inside Elasticsearch ({@code took}) and on the wire plus response
+ *     parsing (client round-trip minus {@code took})</li>
+ *     <li>{@code courses.suggest{engine, outcome}} and {@code courses.bulk.index{outcome}} with
+ *     {@code courses.bulk.index.documents}</li>
+ *     <li>{@code courses.errors{operation, exception}} for every failed call</li>
+ *     <li>{@code courses.search.stale{operation}} for every failed call answered with the last
+ *     good result instead</li>
+ * </ul>
+ * A sampled share of searches slower than {@link SlowQueryProperties#getThreshold()} logs the
+ * request body on the {@code ...SearchMetrics} logger.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final SlowQueryProperties slowQueryProperties;
+    private final JsonpMapper jsonpMapper;
+
+    public void recordSearch(String operation, CourseSearchQuery query, long startNanos, Throwable failure) {
+        Timer.builder("courses.search")
+                .tag("operation", operation)
+                .tag("sort", Objects.requireNonNullElse(query.sort(), CourseSearchQuery.SORT_UPCOMING))
+                .tag("filters", filters(query))
+                .tag("text", String.valueOf(query.hasText()))
+                .tag("outcome", outcome(failure))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            recordError(operation, failure);
+        }
+    }
+
+    /**
+     * Records one Elasticsearch round-trip of {@code operation}: {@code buildNanos} to assemble
+     * {@code request}, {@code clientNanos} from sending it to having the parsed response, of which
+     * Elasticsearch reported spending {@code tookMillis}.
+     */
+    public void recordRoundTrip(String operation, JsonpSerializable request, long buildNanos, long clientNanos, long tookMillis) {
+        long tookNanos = TimeUnit.MILLISECONDS.toNanos(tookMillis);
+        phase(operation, "build").record(buildNanos, TimeUnit.NANOSECONDS);
+        phase(operation, "elasticsearch").record(tookNanos, TimeUnit.NANOSECONDS);
+        phase(operation, "transport").record(Math.max(0, clientNanos - tookNanos), TimeUnit.NANOSECONDS);
+
+        if (clientNanos >= slowQueryProperties.getThreshold().toNanos()
+                && ThreadLocalRandom.current().nextDouble() < slowQueryProperties.getSampleRate()) {
+            log.warn("Slow {}: {} ms round-trip, {} ms in Elasticsearch: {}", operation,
+                    TimeUnit.NANOSECONDS.toMillis(clientNanos), tookMillis, JsonpUtils.toJsonString(request, jsonpMapper));
+        }
+    }
+
+    public void recordSuggest(String engine, long startNanos, Throwable failure) {
+        Timer.builder("courses.suggest")
+                .tag("engine", engine)
+                .tag("outcome", outcome(failure))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            recordError("suggest", failure);
+        }
+    }
+
+    public void recordBulkIndex(int documents, long startNanos, Throwable failure) {
+        Timer.builder("courses.bulk.index")
+                .tag("outcome", outcome(failure))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (failure != null) {
+            recordError("bulkIndex", failure);
+        } else {
+            meterRegistry.counter("courses.bulk.index.documents").increment(documents);
+        }
+    }
+
+    public void recordStale(String operation) {
+        meterRegistry.counter("courses.search.stale", "operation", operation).increment();
+    }
+
+    private void recordError(String operation, Throwable failure) {
+        meterRegistry.counter("courses.errors", "operation", operation,
+                "exception", failure.getClass().getSimpleName()).increment();
+    }
+
+    private Timer phase(String operation, String phase) {
+        return Timer.builder("courses.search.phase")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The filters present in {@code query} as a bounded tag value, e.g. {@code category,price}.
+     */
+    static String filters(CourseSearchQuery query) {
+        StringJoiner filters = new StringJoiner(",");
+        if (query.category() != null) {
+            filters.add(CourseFacet.CATEGORY.key());
+        }
+        if (query.type() != null) {
+            filters.add(CourseFacet.TYPE.key());
+        }
+        if (query.minPrice() != null || query.maxPrice() != null) {
+            filters.add(CourseFacet.PRICE.key());
+        }
+        if (query.minAge() != null || query.maxAge() != null) {
+            filters.add(CourseFacet.AGE.key());
+        }
+        if (query.startDate() != null) {
+            filters.add(CourseFacet.NEXT_SESSION_DATE.key());
+        }
+        return filters.length() == 0 ? "none" : filters.toString();
+    }
+
+    private static String outcome(Throwable failure) {
+        return failure == null ? "success" : "error";
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.SearchCacheProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded, expiring cache of search result pages keyed on the normalised query and the
+ * current {@link IndexGeneration}. Entries are futures, so concurrent requests for the same
+ * query wait on a single in-flight search. Hit, miss and eviction counts are published as
+ * {@code cache.*{cache=courses.search}} meters.
+ */
+@Component
+public class SearchResultCache {
+
+    private final SearchCacheProperties properties;
+    private final IndexGeneration indexGeneration;
+    private final AsyncCache<Key, Page<?>> cache;
+
+    public SearchResultCache(SearchCacheProperties properties, IndexGeneration indexGeneration, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.indexGeneration = indexGeneration;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight())
+                .weigher((Key key, Page<?> page) -> 1 + page.getNumberOfElements())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "courses.search");
+    }
+
+    /**
+     * Returns the cached page for {@code query}, computing it with {@code loader} on a miss.
+     * Exceptions thrown by the loader propagate and nothing is cached.
+     */
+    public Page<CourseDocument> get(CourseSearchQuery query, Function<CourseSearchQuery, Page<CourseDocument>> loader) {
+        return get(query, CourseProjection.FULL, loader);
+    }
+
+    /**
+     * Like {@link #get(CourseSearchQuery, Function)} for results read through {@code projection};
+     * each projection is cached separately.
+     */
+    public <T> Page<T> get(CourseSearchQuery query, CourseProjection<T> projection,
+                           Function<CourseSearchQuery, Page<T>> loader) {
+        return getAsync(query, projection, q -> CompletableFuture.completedFuture(loader.apply(q))).join();
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(CourseSearchQuery, CourseProjection, Function)}. A
+     * future that completes exceptionally is dropped from the cache.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<Page<T>> getAsync(CourseSearchQuery query, CourseProjection<T> projection,
+                                                   Function<CourseSearchQuery, CompletableFuture<Page<T>>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(query);
+        }
+        CompletableFuture<? extends Page<?>> page = cache.get(new Key(indexGeneration.current(), query, projection),
+                (key, executor) -> loader.apply(key.query()).thenApply(Function.identity()));
+        return (CompletableFuture<Page<T>>) page;
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private record Key(long generation, CourseSearchQuery query, CourseProjection<?> projection) {
+    }
+}
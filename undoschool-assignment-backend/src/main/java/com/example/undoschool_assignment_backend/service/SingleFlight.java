@@ -0,0 +1,99 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.CoalescingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent calls into one: the first caller for a key starts the call and
+ * every caller that arrives while it is in flight gets the same future. The key is removed
+ * before the future completes, so a caller arriving afterwards starts a fresh call and never
+ * sees a stale result; caching is {@link SearchResultCache}'s job.
+ * <p>
+ * Joining an in-flight call is a single map lookup. Calls are counted as
+ * {@code courses.coalescing.requests{operation, outcome=executed|coalesced}}, and
+ * {@code courses.coalescing.in.flight} gauges the calls currently shared.
+ */
+@Component
+public class SingleFlight {
+
+    private final CoalescingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public SingleFlight(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("courses.coalescing.in.flight", Tags.empty(), inFlight);
+    }
+
+    /**
+     * Returns the in-flight future for {@code key} within {@code operation}, or starts one with
+     * {@code call}. Callers share the returned future and must not complete or cancel it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String operation, Object key, Supplier<CompletableFuture<T>> call) {
+        if (!properties.isEnabled()) {
+            return call.get();
+        }
+        Key flightKey = new Key(operation, key);
+        Counters counter = counters(operation);
+        CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.get(flightKey);
+        if (existing != null) {
+            counter.coalesced().increment();
+            return existing;
+        }
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        existing = (CompletableFuture<T>) inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            counter.coalesced().increment();
+            return existing;
+        }
+        counter.executed().increment();
+        try {
+            call.get().whenComplete((result, failure) -> {
+                inFlight.remove(flightKey, flight);
+                if (failure != null) {
+                    flight.completeExceptionally(failure);
+                } else {
+                    flight.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(flightKey, flight);
+            flight.completeExceptionally(e);
+        }
+        return flight;
+    }
+
+    private Counters counters(String operation) {
+        Counters counter = counters.get(operation);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(operation, op -> new Counters(
+                    counter(op, "executed"),
+                    counter(op, "coalesced")));
+        }
+        return counter;
+    }
+
+    private Counter counter(String operation, String outcome) {
+        return Counter.builder("courses.coalescing.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Key(String operation, Object key) {
+    }
+
+    private record Counters(Counter executed, Counter coalesced) {
+    }
+}
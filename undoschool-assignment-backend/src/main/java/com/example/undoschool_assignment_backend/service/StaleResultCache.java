@@ -0,0 +1,46 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.OverloadProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * The last good result of each search and suggestion, kept across index changes and for longer
+ * than {@link SearchResultCache} keeps results, to answer with while the backend is shedding
+ * load or failing. Bounded by count; published as {@code cache.*{cache=courses.stale}}.
+ */
+@Component
+public class StaleResultCache {
+
+    private final boolean enabled;
+    private final Cache<Key, Object> cache;
+
+    public StaleResultCache(OverloadProperties properties, MeterRegistry meterRegistry) {
+        OverloadProperties.Stale stale = properties.getStale();
+        this.enabled = stale.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(stale.getMaximumSize())
+                .expireAfterWrite(stale.getMaxAge())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "courses.stale");
+    }
+
+    public void put(String operation, Object key, Object result) {
+        if (enabled) {
+            cache.put(new Key(operation, key), result);
+        }
+    }
+
+    /** The last good result stored for {@code key}, or null. */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String operation, Object key) {
+        return enabled ? (T) cache.getIfPresent(new Key(operation, key)) : null;
+    }
+
+    private record Key(String operation, Object key) {
+    }
+}
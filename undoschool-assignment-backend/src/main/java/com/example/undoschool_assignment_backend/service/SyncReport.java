@@ -0,0 +1,14 @@
+package com.example.undoschool_assignment_backend.service;
+
+/**
+ * Per-outcome document counts of a catalog sync.
+ */
+public record SyncReport(
+        boolean incremental,
+        long created,
+        long updated,
+        long skipped,
+        long deleted,
+        long failed
+) {
+}
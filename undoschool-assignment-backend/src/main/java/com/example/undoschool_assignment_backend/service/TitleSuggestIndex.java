@@ -0,0 +1,142 @@
+package com.example.undoschool_assignment_backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable prefix index over course titles. Normalised titles are kept in a sorted array, so
+ * the titles sharing a prefix form one contiguous range found with two binary searches. A
+ * max-weight segment tree over that array then yields the {@code k} most popular titles of the
+ * range in {@code O(k log n)} without visiting the rest of it.
+ * <p>
+ * A title's popularity is the number of courses carrying it.
+ */
+public final class TitleSuggestIndex {
+
+    public static final TitleSuggestIndex EMPTY = build(List.of());
+
+    private final String[] keys;
+    private final String[] titles;
+    private final int[] weights;
+    private final int[] tree;
+    private final int n;
+
+    private TitleSuggestIndex(String[] keys, String[] titles, int[] weights) {
+        this.keys = keys;
+        this.titles = titles;
+        this.weights = weights;
+        this.n = keys.length;
+        this.tree = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            tree[n + i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    public static TitleSuggestIndex build(Collection<String> courseTitles) {
+        Map<String, String> display = new HashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        for (String title : courseTitles) {
+            if (title == null) {
+                continue;
+            }
+            String key = normalise(title);
+            if (!key.isEmpty()) {
+                counts.merge(key, 1, Integer::sum);
+                display.putIfAbsent(key, title.trim());
+            }
+        }
+        String[] keys = counts.keySet().toArray(String[]::new);
+        Arrays.sort(keys);
+        String[] titles = new String[keys.length];
+        int[] weights = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            titles[i] = display.get(keys[i]);
+            weights[i] = counts.get(keys[i]);
+        }
+        return new TitleSuggestIndex(keys, titles, weights);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /**
+     * The {@code k} most popular titles starting with {@code prefix}, ties broken alphabetically.
+     */
+    public List<String> topK(String prefix, int k) {
+        String key = normalise(prefix);
+        int lo = lowerBound(key);
+        int hi = lowerBound(key + Character.MAX_VALUE);
+        if (k <= 0 || lo >= hi) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(Math.min(k, hi - lo));
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> a[2] == better(a[2], b[2]) ? -1 : 1);
+        ranges.add(new int[]{lo, hi, argmax(lo, hi)});
+        while (result.size() < k && !ranges.isEmpty()) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            result.add(titles[best]);
+            if (range[0] < best) {
+                ranges.add(new int[]{range[0], best, argmax(range[0], best)});
+            }
+            if (best + 1 < range[1]) {
+                ranges.add(new int[]{best + 1, range[1], argmax(best + 1, range[1])});
+            }
+        }
+        return result;
+    }
+
+    static String normalise(String title) {
+        return title.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = n;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int argmax(int from, int to) {
+        int best = -1;
+        for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                best = better(best, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                best = better(best, tree[--r]);
+            }
+        }
+        return best;
+    }
+
+    private int better(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        if (weights[a] != weights[b]) {
+            return weights[a] > weights[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.undoschool_assignment_backend.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Completes a partial course title.
+ */
+public interface TitleSuggester {
+
+    List<String> suggest(String prefix, int size) throws IOException;
+
+    /**
+     * Non-blocking variant of {@link #suggest}; by default runs it on the calling thread.
+     */
+    default CompletableFuture<List<String>> suggestAsync(String prefix, int size) {
+        try {
+            return CompletableFuture.completedFuture(suggest(prefix, size));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Whether the suggester can answer yet; callers fall back to another one until it can.
+     */
+    default boolean isReady() {
+        return true;
+    }
+}
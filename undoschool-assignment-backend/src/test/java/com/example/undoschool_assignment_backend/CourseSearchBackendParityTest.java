@@ -0,0 +1,157 @@
+package com.example.undoschool_assignment_backend;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.example.undoschool_assignment_backend.config.CatalogProperties;
+import com.example.undoschool_assignment_backend.config.EmbeddedSearchProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.service.CourseCatalogReader;
+import com.example.undoschool_assignment_backend.service.CourseIndexManager;
+import com.example.undoschool_assignment_backend.service.CourseProjection;
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+import com.example.undoschool_assignment_backend.service.ElasticsearchSearchBackend;
+import com.example.undoschool_assignment_backend.service.EmbeddedSearchBackend;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the same queries through the Elasticsearch backend and an embedded backend loaded from
+ * the same catalog. Filtered and sorted results must match exactly. Text queries must find the
+ * same number of courses, but relevance is scored differently, so their rankings only need to
+ * agree within {@link #RANK_TOLERANCE}.
+ * <p>
+ * The app loads the catalog into a throwaway Elasticsearch container on startup, so no local
+ * cluster is touched; skipped without Docker.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CourseSearchBackendParityTest {
+
+    /** The top of one backend's ranking that is compared. */
+    private static final int TOP_N = 5;
+
+    /**
+     * How many places further down the other backend may rank the same courses: the two score
+     * relevance differently, which reorders courses whose scores are close.
+     */
+    private static final int RANK_TOLERANCE = 5;
+
+    @Container
+    static final ElasticsearchContainer ELASTICSEARCH =
+            new ElasticsearchContainer("docker.elastic.co/elasticsearch/elasticsearch:8.11.0")
+                    .withEnv("xpack.security.enabled", "false");
+
+    @DynamicPropertySource
+    static void elasticsearch(DynamicPropertyRegistry registry) {
+        registry.add("spring.elasticsearch.uris", () -> "http://" + ELASTICSEARCH.getHttpHostAddress());
+    }
+
+    @Autowired
+    private ElasticsearchClient elasticsearchClient;
+
+    @Autowired
+    private ElasticsearchSearchBackend elasticsearch;
+
+    @Autowired
+    private CourseCatalogReader catalogReader;
+
+    @Autowired
+    private CatalogProperties catalogProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private EmbeddedSearchBackend embedded;
+
+    @BeforeAll
+    void load() throws Exception {
+        elasticsearchClient.indices().refresh(r -> r.index(CourseIndexManager.ALIAS));
+        embedded = new EmbeddedSearchBackend(catalogReader, catalogProperties, new EmbeddedSearchProperties(), objectMapper);
+        embedded.load();
+    }
+
+    @AfterAll
+    void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+
+    static Stream<CourseSearchQuery> filterQueries() {
+        ZonedDateTime july = ZonedDateTime.parse("2025-07-01T00:00:00Z");
+        return Stream.of(
+                CourseSearchQuery.of(null, null, null, null, null, null, null, null, null, 0, 50),
+                CourseSearchQuery.of(null, null, null, "Science", null, null, null, null, "priceAsc", 0, 10),
+                CourseSearchQuery.of(null, null, null, null, "CLUB", null, null, null, "priceDesc", 0, 10),
+                CourseSearchQuery.of(null, 8, 10, null, null, 20.0, 60.0, null, null, 0, 20),
+                CourseSearchQuery.of(null, null, null, null, null, null, null, july, "priceAsc", 1, 5),
+                CourseSearchQuery.of(null, 6, null, "Art", "COURSE", null, 80.0, july, null, 0, 10));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterQueries")
+    void filteredSearchesMatchExactly(CourseSearchQuery query) {
+        Page<CourseDocument> expected = elasticsearch.search(query, CourseProjection.FULL).join();
+        Page<CourseDocument> actual = embedded.search(query, CourseProjection.FULL).join();
+
+        assertEquals(ids(expected), ids(actual));
+        assertEquals(expected.getTotalElements(), actual.getTotalElements());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"math", "explorrs", "robotics club", "painting"})
+    void textSearchesAgreeOnMatchesAndRanking(String text) {
+        CourseSearchQuery query = CourseSearchQuery.of(text, null, null, null, null, null, null, null, null, 0, 50);
+
+        Page<CourseDocument> expected = elasticsearch.search(query, CourseProjection.FULL).join();
+        Page<CourseDocument> actual = embedded.search(query, CourseProjection.FULL).join();
+
+        assertEquals(expected.getTotalElements(), actual.getTotalElements());
+        assertRankedNear("elasticsearch", ids(expected), "embedded", ids(actual));
+        assertRankedNear("embedded", ids(actual), "elasticsearch", ids(expected));
+    }
+
+    /**
+     * Every course in the top {@link #TOP_N} of {@code ranking} is within the top
+     * {@code TOP_N + RANK_TOLERANCE} of {@code other}.
+     */
+    private static void assertRankedNear(String name, List<String> ranking, String otherName, List<String> other) {
+        Set<String> top = new HashSet<>(ranking.subList(0, Math.min(TOP_N, ranking.size())));
+        Set<String> near = new HashSet<>(other.subList(0, Math.min(TOP_N + RANK_TOLERANCE, other.size())));
+        assertTrue(near.containsAll(top),
+                () -> "top of " + name + " ranked low or missing in " + otherName + ": " + minus(top, near));
+    }
+
+    private static List<String> ids(Page<CourseDocument> page) {
+        return page.getContent().stream().map(CourseDocument::getId).toList();
+    }
+
+    private static Set<String> minus(Set<String> left, Set<String> right) {
+        Set<String> difference = new HashSet<>(left);
+        difference.removeAll(right);
+        return difference;
+    }
+}
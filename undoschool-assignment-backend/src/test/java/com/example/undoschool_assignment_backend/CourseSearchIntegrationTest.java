@@ -1,9 +1,10 @@
 package com.example.undoschool_assignment_backend;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
-import co.elastic.clients.elasticsearch.indices.CreateIndexRequest;
 import co.elastic.clients.elasticsearch.indices.ExistsRequest;
 import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.service.CourseIndexManager;
+import com.example.undoschool_assignment_backend.service.CourseIndexReplacedEvent;
 import com.example.undoschool_assignment_backend.service.CourseService;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.ZonedDateTime;
@@ -34,18 +36,26 @@ public class CourseSearchIntegrationTest {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CourseIndexManager indexManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @BeforeEach
     void setupTestIndex() throws Exception {
+        if (client.indices().existsAlias(e -> e.name("courses")).value()) {
+            for (String index : client.indices().getAlias(g -> g.name("courses")).result().keySet()) {
+                client.indices().delete(d -> d.index(index));
+            }
+        }
         boolean exists = client.indices().exists(ExistsRequest.of(e -> e.index("courses"))).value();
         if (exists) {
             client.indices().delete(d -> d.index("courses"));
         }
-        client.indices().create(CreateIndexRequest.of(c -> c
-                .index("courses")
-                .mappings(mb -> mb
-                        .properties("suggest", p -> p.completion(cp -> cp))
-                )
-        ));
+        // courses_v1 from the index template behind the alias, as on a first start
+        String index = indexManager.ensureIndex();
+        eventPublisher.publishEvent(new CourseIndexReplacedEvent(index));
         CourseDocument course = new CourseDocument();
         course.setId(UUID.randomUUID().toString());
         course.setTitle("Math Explorers");
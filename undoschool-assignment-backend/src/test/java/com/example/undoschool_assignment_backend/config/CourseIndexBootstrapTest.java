@@ -0,0 +1,112 @@
+package com.example.undoschool_assignment_backend.config;
+
+import com.example.undoschool_assignment_backend.service.CourseCatalogSync;
+import com.example.undoschool_assignment_backend.service.CourseIndexManager;
+import com.example.undoschool_assignment_backend.service.CourseIndexReplacedEvent;
+import com.example.undoschool_assignment_backend.service.CourseIndexTemplate;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CourseIndexBootstrapTest {
+
+    private final CourseIndexManager indexManager = mock(CourseIndexManager.class);
+    private final CourseIndexTemplate indexTemplate = mock(CourseIndexTemplate.class);
+    private final CourseCatalogSync catalogSync = mock(CourseCatalogSync.class);
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private final BootstrapProperties properties = new BootstrapProperties();
+    private StubElasticsearchServer server;
+    private CourseIndexBootstrap bootstrap;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = StubElasticsearchServer.start();
+        when(indexManager.ensureIndex()).thenReturn("courses_v1");
+        when(indexTemplate.drift("courses_v1")).thenReturn(List.of());
+        bootstrap = new CourseIndexBootstrap(indexManager, indexTemplate, catalogSync, server.client(), events::add, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        bootstrap.shutdown();
+        server.close();
+    }
+
+    @Test
+    void skipsTheCatalogWhenTheIndexIsPopulated() throws Exception {
+        properties.setSkipIfPopulated(true);
+        server.respond("/_count", "{\"count\": 50, \"_shards\": {\"total\": 1, \"successful\": 1, \"failed\": 0}}");
+
+        bootstrap.bootstrap();
+
+        verify(catalogSync, never()).sync(any(), any());
+        assertEquals(CourseIndexBootstrap.Phase.READY, bootstrap.phase());
+        assertEquals(List.of(new CourseIndexReplacedEvent(CourseIndexManager.ALIAS)), events);
+    }
+
+    @Test
+    void blockingModeFailsStartup() throws Exception {
+        when(indexManager.ensureIndex()).thenThrow(new IOException("connection refused"));
+
+        assertThrows(IOException.class, bootstrap::bootstrap);
+        assertEquals(CourseIndexBootstrap.Phase.FAILED, bootstrap.phase());
+    }
+
+    @Test
+    void backgroundModeRetriesAndGatesReadiness() throws Exception {
+        properties.setMode(BootstrapProperties.Mode.BACKGROUND);
+        properties.setRetryInterval(Duration.ofMillis(10));
+        when(indexManager.ensureIndex())
+                .thenThrow(new IOException("connection refused"))
+                .thenReturn("courses_v1");
+        doAnswer(invocation -> {
+            LongConsumer progress = invocation.getArgument(1);
+            progress.accept(1);
+            progress.accept(2);
+            return null;
+        }).when(catalogSync).sync(eq(CourseIndexManager.ALIAS), any());
+        ApplicationAvailabilityBean availability = new ApplicationAvailabilityBean();
+        availability.onApplicationEvent(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("bootstrap", bootstrap));
+        CourseReadinessIndicator readiness = new CourseReadinessIndicator(availability,
+                beans.getBeanProvider(CourseIndexBootstrap.class));
+        assertEquals(Status.OUT_OF_SERVICE, readiness.health().getStatus());
+
+        bootstrap.bootstrap();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (bootstrap.phase() != CourseIndexBootstrap.Phase.READY && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(CourseIndexBootstrap.Phase.READY, bootstrap.phase());
+        assertEquals(Status.UP, readiness.health().getStatus());
+        Map<?, ?> progress = (Map<?, ?>) readiness.health().getDetails().get("courses");
+        assertEquals(2, progress.get("attempts"));
+        assertEquals(2L, progress.get("coursesRead"));
+        assertTrue(events.contains(new CourseIndexReplacedEvent(CourseIndexManager.ALIAS)));
+    }
+}
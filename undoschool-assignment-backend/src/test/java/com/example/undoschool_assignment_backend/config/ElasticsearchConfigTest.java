@@ -0,0 +1,43 @@
+package com.example.undoschool_assignment_backend.config;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.elasticsearch.ElasticsearchProperties;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ElasticsearchConfigTest {
+
+    @Test
+    void reusesPooledConnectionsAndReportsPoolUsage() throws Exception {
+        try (StubElasticsearchServer server = StubElasticsearchServer.start()) {
+            ElasticsearchProperties properties = new ElasticsearchProperties();
+            properties.setUris(List.of("http://localhost:" + server.port()));
+            ElasticsearchTransportProperties transport = new ElasticsearchTransportProperties();
+            transport.setMaxConnectionsTotal(7);
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+            ElasticsearchConfig config = new ElasticsearchConfig();
+            PoolingNHttpClientConnectionManager pool = config.elasticsearchConnectionManager(properties, transport, registry);
+            try (RestClient restClient = config.elasticsearchRestClient(properties, transport, pool)) {
+                ElasticsearchClient client = config.elasticsearchClient(config.elasticsearchTransport(
+                        restClient, config.elasticsearchJsonpMapper(new ObjectMapper())));
+
+                for (int i = 0; i < 5; i++) {
+                    client.indices().refresh(r -> r.index("courses"));
+                }
+
+                assertEquals(7, registry.get("elasticsearch.client.connections.max").gauge().value());
+                assertEquals(0, registry.get("elasticsearch.client.connections").tag("state", "leased").gauge().value());
+                assertEquals(1, registry.get("elasticsearch.client.connections").tag("state", "available").gauge().value());
+            }
+        }
+    }
+}
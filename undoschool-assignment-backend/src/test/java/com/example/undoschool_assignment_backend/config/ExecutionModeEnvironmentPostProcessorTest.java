@@ -0,0 +1,36 @@
+package com.example.undoschool_assignment_backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExecutionModeEnvironmentPostProcessorTest {
+
+    private final ExecutionModeEnvironmentPostProcessor postProcessor = new ExecutionModeEnvironmentPostProcessor();
+
+    @Test
+    void enablesVirtualThreadsInVirtualModeOnly() {
+        MockEnvironment virtual = new MockEnvironment().withProperty("courses.execution.mode", "virtual");
+        MockEnvironment platform = new MockEnvironment().withProperty("courses.execution.mode", "platform");
+
+        postProcessor.postProcessEnvironment(virtual, new SpringApplication());
+        postProcessor.postProcessEnvironment(platform, new SpringApplication());
+
+        assertEquals("true", virtual.getProperty("spring.threads.virtual.enabled"));
+        assertNull(platform.getProperty("spring.threads.virtual.enabled"));
+    }
+
+    @Test
+    void keepsAnExplicitSetting() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("courses.execution.mode", "virtual")
+                .withProperty("spring.threads.virtual.enabled", "false");
+
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        assertEquals("false", environment.getProperty("spring.threads.virtual.enabled"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.undoschool_assignment_backend.controller;
+
+import com.example.undoschool_assignment_backend.service.CourseIndexManager;
+import com.example.undoschool_assignment_backend.service.IndexConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AdminController.class, properties = "courses.admin.enabled=true")
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CourseIndexManager indexManager;
+
+    @Test
+    void mapsIndexConflictsTo409() throws Exception {
+        when(indexManager.rebuild()).thenThrow(new IndexConflictException("A rebuild or rollback of 'courses' is already running"));
+        when(indexManager.rollback()).thenThrow(new IndexConflictException("No earlier version of 'courses' to roll back to"));
+
+        mockMvc.perform(post("/api/admin/index/rebuild"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value("A rebuild or rollback of 'courses' is already running"));
+        mockMvc.perform(post("/api/admin/index/rollback"))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.undoschool_assignment_backend.controller;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.service.CourseProjection;
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+import com.example.undoschool_assignment_backend.service.CourseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = AsyncCourseController.class, properties = "courses.execution.mode=async")
+class AsyncCourseControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CourseService courseService;
+
+    @Test
+    void writesResponseWhenFutureCompletes() throws Exception {
+        CourseDocument course = new CourseDocument();
+        course.setTitle("Math Explorers");
+        CompletableFuture<Page<CourseDocument>> pending = new CompletableFuture<>();
+        when(courseService.searchCoursesAsync(any(CourseSearchQuery.class), eq(CourseProjection.FULL))).thenReturn(pending);
+
+        MvcResult result = mockMvc.perform(get("/api/search").param("q", "math"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.complete(new PageImpl<>(List.of(course)));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Math Explorers"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.undoschool_assignment_backend.controller;
+
+import com.example.undoschool_assignment_backend.config.ExportProperties;
+import com.example.undoschool_assignment_backend.service.BatchSearchResult;
+import com.example.undoschool_assignment_backend.service.CourseExportService;
+import com.example.undoschool_assignment_backend.service.CourseProjection;
+import com.example.undoschool_assignment_backend.service.CourseSearchQuery;
+import com.example.undoschool_assignment_backend.service.CourseService;
+import com.example.undoschool_assignment_backend.service.CursorPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest({CourseController.class, CourseScrollController.class})
+@Import(ExportProperties.class)
+class CourseControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CourseService courseService;
+
+    @MockitoBean
+    private CourseExportService courseExportService;
+
+    @Test
+    void bindsSearchParametersIntoNormalisedQuery() throws Exception {
+        when(courseService.searchCourses(any(CourseSearchQuery.class))).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/search")
+                        .param("q", " Math ")
+                        .param("minAge", "6")
+                        .param("category", "Math")
+                        .param("startDate", "2025-06-01T05:30:00+05:30")
+                        .param("sort", "PRICEASC"))
+                .andExpect(status().isOk());
+
+        verify(courseService).searchCourses(new CourseSearchQuery("math", 6, null, "Math", null, null, null,
+                ZonedDateTime.parse("2025-06-01T00:00:00Z"), CourseSearchQuery.SORT_PRICE_ASC, 0, 10));
+    }
+
+    @Test
+    void mapsFieldsAndListViewToProjections() throws Exception {
+        when(courseService.searchCourses(any(CourseSearchQuery.class), any())).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/api/search").param("fields", "id,title,-description"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/search").param("view", "list"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/search").param("fields", "secret"))
+                .andExpect(status().isBadRequest());
+
+        verify(courseService).searchCourses(any(CourseSearchQuery.class), eq(new CourseProjection<>(
+                List.of("id", "title"), List.of("description", "suggest"), JsonNode.class)));
+        verify(courseService).searchCourses(any(CourseSearchQuery.class), eq(CourseProjection.LIST));
+    }
+
+    @Test
+    void routesCursorRequests() throws Exception {
+        when(courseService.searchWithCursor(any())).thenReturn(new CursorPage<>(List.of(), 0, "next"));
+        when(courseService.continueCursor("next")).thenReturn(new CursorPage<>(List.of(), 0, null));
+
+        mockMvc.perform(get("/api/search").param("paging", "cursor").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+        mockMvc.perform(get("/api/search").param("cursor", "next"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void runsBatchSearchesInOrder() throws Exception {
+        when(courseService.searchBatch(any(), any())).thenReturn(List.of(
+                BatchSearchResult.ok(Page.empty()),
+                BatchSearchResult.failed(503, "Batch search is temporarily unavailable")));
+
+        mockMvc.perform(post("/api/search/batch")
+                        .param("view", "list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"category\": \"Math\", \"size\": 6}, {\"type\": \"CLUB\", \"sort\": \"priceDesc\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].status").value(503))
+                .andExpect(jsonPath("$[1].page").doesNotExist());
+
+        verify(courseService).searchBatch(List.of(
+                CourseSearchQuery.of(null, null, null, "Math", null, null, null, null, null, 0, 6),
+                CourseSearchQuery.of(null, null, null, null, "CLUB", null, null, null, "priceDesc", 0, 10)
+        ), CourseProjection.LIST);
+    }
+
+    @Test
+    void streamsTheExportWithItsOwnTimeout() throws Exception {
+        when(courseExportService.export(any(), any(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, java.io.OutputStream.class).write("{\"id\":\"1\"}\n".getBytes());
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/search/export").param("category", "Math"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(30 * 60 * 1000L, result.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"id\":\"1\"}\n"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.undoschool_assignment_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void rejectsCallsBeyondTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1.5, 0.2);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnore();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(2, limiter.inFlight());
+    }
+
+    @Test
+    void growsWhileLatencyHoldsAndShrinksWhenItRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 1.5, 0.2);
+
+        for (int i = 0; i < 50; i++) {
+            saturate(limiter, FAST);
+        }
+        int grown = limiter.limit();
+        assertTrue(grown > 10, "limit " + grown);
+
+        for (int i = 0; i < 20; i++) {
+            saturate(limiter, SLOW);
+        }
+        assertTrue(limiter.limit() < grown / 2, "limit " + limiter.limit());
+    }
+
+    @Test
+    void doesNotGrowWhileTheLimitIsUnused() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 1.5, 0.2);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onSample(FAST, false);
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void backsOffOnDropsDownToTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 4, 100, 1.5, 0.2);
+
+        limiter.tryAcquire();
+        limiter.onSample(FAST, true);
+        assertEquals(9, limiter.limit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.onSample(FAST, true);
+        }
+        assertEquals(4, limiter.limit());
+    }
+
+    /** Fills the current limit and completes every call with {@code rtt}. */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rtt) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.onSample(rtt, false);
+        }
+    }
+}
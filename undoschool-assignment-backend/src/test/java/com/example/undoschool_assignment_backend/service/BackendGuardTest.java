@@ -0,0 +1,101 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.ErrorResponse;
+import com.example.undoschool_assignment_backend.config.OverloadProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackendGuardTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shedsCallsBeyondTheLimitWithoutQueueing() throws Exception {
+        OverloadProperties properties = new OverloadProperties();
+        properties.getLimiter().setInitialLimit(1);
+        properties.getLimiter().setMinLimit(1);
+        BackendGuard guard = new BackendGuard(properties, meterRegistry);
+        CompletableFuture<String> slow = new CompletableFuture<>();
+
+        CompletableFuture<String> first = guard.call(() -> slow);
+        CompletableFuture<String> second = guard.call(() -> CompletableFuture.completedFuture("unreachable"));
+
+        ExecutionException shed = assertThrows(ExecutionException.class, second::get);
+        OverloadedException cause = assertInstanceOf(OverloadedException.class, shed.getCause());
+        assertEquals("limit", cause.getShedReason());
+        assertEquals("1", cause.getHeaders().getFirst("Retry-After"));
+        assertEquals(1, meterRegistry.get("courses.backend.rejected").tag("reason", "limit").counter().count());
+        assertEquals(1, meterRegistry.get("courses.backend.in.flight").gauge().value());
+
+        slow.complete("done");
+        assertEquals("done", first.get());
+        assertEquals(0, meterRegistry.get("courses.backend.in.flight").gauge().value());
+    }
+
+    @Test
+    void opensTheCircuitOnBackendFailuresOnly() {
+        OverloadProperties properties = new OverloadProperties();
+        properties.getBreaker().setMinimumCalls(2);
+        BackendGuard guard = new BackendGuard(properties, meterRegistry);
+
+        guard.call(() -> CompletableFuture.failedFuture(new ElasticsearchException("search", error(400))));
+        guard.call(() -> CompletableFuture.failedFuture(new ElasticsearchException("search", error(400))));
+        assertEquals(CircuitBreaker.State.CLOSED, guard.circuitState());
+
+        guard.call(() -> CompletableFuture.failedFuture(new IOException("connection refused")));
+        guard.call(() -> CompletableFuture.failedFuture(new ElasticsearchException("search", error(503))));
+        assertEquals(CircuitBreaker.State.OPEN, guard.circuitState());
+        assertEquals(1, meterRegistry.get("courses.backend.circuit.state").tag("state", "open").gauge().value());
+
+        assertThrows(OverloadedException.class, guard::acquire);
+        assertEquals(1, meterRegistry.get("courses.backend.rejected").tag("reason", "circuit_open").counter().count());
+    }
+
+    @Test
+    void classifiesClientErrorsAsAnswers() {
+        assertFalse(BackendGuard.isBackendFailure(new ElasticsearchException("search", error(400))));
+        assertTrue(BackendGuard.isBackendFailure(new ElasticsearchException("search", error(429))));
+        assertTrue(BackendGuard.isBackendFailure(new IOException("timeout")));
+        assertTrue(BackendGuard.isBackendFailure(new OverloadedException("limit")));
+        assertTrue(BackendGuard.isBackendFailure(new TimeoutException()));
+        assertTrue(BackendGuard.isBackendFailure(new ElasticsearchException("search",
+                ErrorResponse.of(e -> e.status(404).error(c -> c.type("index_not_found_exception").reason("no such index"))))));
+        assertFalse(BackendGuard.isBackendFailure(new CompletionException(new ElasticsearchException("search", error(400)))));
+        assertFalse(BackendGuard.isBackendFailure(new IllegalArgumentException("page beyond the result window")));
+        assertFalse(BackendGuard.isBackendFailure(new NullPointerException()));
+    }
+
+    @Test
+    void answersBadRequestForRejectedSearchesAndServiceUnavailableForBackendFailures() {
+        ResponseStatusException rejected = CourseService.failure("Search", new ElasticsearchException("search", error(400)));
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+        assertEquals("status 400", rejected.getReason());
+
+        ResponseStatusException window = CourseService.failure("Search", new IllegalArgumentException("Result window is too large"));
+        assertEquals(HttpStatus.BAD_REQUEST, window.getStatusCode());
+
+        ResponseStatusException failed = CourseService.failure("Search", new CompletionException(new IOException("connection refused")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, failed.getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                CourseService.failure("Search", new ElasticsearchException("search", error(503))).getStatusCode());
+    }
+
+    private static ErrorResponse error(int status) {
+        return ErrorResponse.of(e -> e.status(status).error(c -> c.type("exception").reason("status " + status)));
+    }
+}
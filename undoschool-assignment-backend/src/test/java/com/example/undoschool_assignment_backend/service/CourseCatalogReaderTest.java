@@ -0,0 +1,53 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CourseCatalogReaderTest {
+
+    private final CourseCatalogReader reader = new CourseCatalogReader(
+            new ObjectMapper().registerModule(new JavaTimeModule()), new DefaultResourceLoader());
+
+    @Test
+    void streamsBundledJsonArrayCatalog() throws IOException {
+        List<CourseDocument> courses = new ArrayList<>();
+
+        long read = reader.read("classpath:sample-courses.json", courses::add);
+
+        assertEquals(50, read);
+        assertEquals("Math Explorers", courses.get(0).getTitle());
+    }
+
+    @Test
+    void streamsNewlineDelimitedFileFromPlainPath(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("courses.ndjson");
+        Files.writeString(file, """
+                {"id":"1","title":"Math Explorers","price":49.99,"nextSessionDate":"2025-06-10T15:00:00Z"}
+                {"id":"2","title":"Science Lab Basics","price":29.99}
+                """);
+        List<String> ids = new ArrayList<>();
+
+        long read = reader.read(file.toString(), course -> ids.add(course.getId()));
+
+        assertEquals(2, read);
+        assertEquals(List.of("1", "2"), ids);
+    }
+
+    @Test
+    void failsForMissingCatalog(@TempDir Path dir) {
+        assertThrows(IOException.class, () -> reader.read(dir.resolve("missing.json").toString(), course -> { }));
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.CatalogProperties;
+import com.example.undoschool_assignment_backend.config.CatalogProperties.SyncMode;
+import com.example.undoschool_assignment_backend.config.IngestionProperties;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseCatalogSyncTest {
+
+    private static final String INDEX = "courses_v1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final CatalogProperties properties = new CatalogProperties();
+    private StubElasticsearchServer server;
+    private BulkIngestionService ingestion;
+    private CourseCatalogSync sync;
+    private Path catalog;
+
+    @BeforeEach
+    void setUp(@TempDir Path dir) throws IOException {
+        server = StubElasticsearchServer.start();
+        IngestionProperties ingestionProperties = new IngestionProperties();
+        ingestionProperties.setInitialBackoff(Duration.ofMillis(5));
+        ingestion = new BulkIngestionService(server.client(), ingestionProperties, new IndexGeneration(), event -> { });
+        catalog = dir.resolve("courses.ndjson");
+        properties.setLocation(catalog.toString());
+        properties.setSync(SyncMode.INCREMENTAL);
+        properties.setFingerprintFile(dir.resolve("courses.fingerprints"));
+        sync = new CourseCatalogSync(server.client(), ingestion,
+                new CourseCatalogReader(objectMapper, new DefaultResourceLoader()),
+                new CourseFingerprintStore(), new CourseWriteLog(server.client(), new CourseIndexScanner(server.client())),
+                properties, objectMapper, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        ingestion.shutdown();
+        server.close();
+    }
+
+    @Test
+    void skipsUnchangedUpdatesChangedAndDeletesRemovedCourses() throws IOException {
+        catalog(course("1", 10.0), course("2", 20.0), course("3", 30.0));
+        SyncReport first = sync.sync(INDEX);
+        assertFalse(first.incremental());
+        assertEquals(3, first.created());
+
+        documents(3);
+        server.recordBulks();
+        catalog(course("1", 10.0), course("2", 25.0), course("4", 40.0));
+        SyncReport second = sync.sync(INDEX);
+
+        assertTrue(second.incremental());
+        assertEquals(1, second.skipped());
+        assertEquals(1, second.updated());
+        assertEquals(1, second.created());
+        assertEquals(1, second.deleted());
+        String body = String.join("", server.bulkBodies());
+        assertFalse(body.contains("\"_id\":\"1\""));
+        assertTrue(body.contains("\"_id\":\"2\""));
+        assertTrue(body.contains("\"_id\":\"4\""));
+        assertTrue(body.contains("{\"delete\":{\"_id\":\"3\""));
+    }
+
+    @Test
+    void fallsBackToFullSyncWhenTheIndexDisagreesWithTheFingerprints() throws IOException {
+        catalog(course("1", 10.0), course("2", 20.0));
+        sync.sync(INDEX);
+
+        documents(5);
+        SyncReport report = sync.sync(INDEX);
+
+        assertFalse(report.incremental());
+        assertEquals(2, report.created());
+        assertEquals(0, report.skipped());
+    }
+
+    @Test
+    void fullModeIgnoresFingerprintsAndNeverDeletes() throws IOException {
+        catalog(course("1", 10.0), course("2", 20.0));
+        sync.sync(INDEX);
+        documents(2);
+        properties.setSync(SyncMode.FULL);
+
+        catalog(course("1", 10.0));
+        SyncReport report = sync.sync(INDEX);
+
+        assertFalse(report.incremental());
+        assertEquals(1, report.created());
+        assertEquals(0, report.deleted());
+    }
+
+    @Test
+    void retriesAFailedDeleteOnTheNextSync() throws IOException {
+        catalog(course("1", 10.0), course("2", 20.0));
+        sync.sync(INDEX);
+        documents(2);
+
+        catalog(course("1", 10.0));
+        server.failItem("2", 500);
+        SyncReport failed = sync.sync(INDEX);
+        assertEquals(1, failed.failed());
+        assertEquals(0, failed.deleted());
+
+        server.clearFailures();
+        SyncReport retried = sync.sync(INDEX);
+
+        assertTrue(retried.incremental());
+        assertEquals(1, retried.skipped());
+        assertEquals(1, retried.deleted());
+    }
+
+    @Test
+    void keepsCoursesWrittenThroughTheApiOverTheCatalog() throws IOException {
+        properties.setSync(SyncMode.FULL);
+        server.respond("/" + CourseWriteLog.INDEX, "{}");
+        server.respond("/_pit", "{\"id\":\"pit-1\",\"succeeded\":true,\"num_freed\":1}");
+        server.respond("/_search", """
+                {"took":1,"timed_out":false,"pit_id":"pit-1",
+                 "_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+                 "hits":{"total":{"value":2,"relation":"eq"},"max_score":null,"hits":[
+                   {"_index":"courses_writes","_id":"2","_score":null,"sort":[0],
+                    "_source":{"id":"2","deleted":false,"course":{"id":"2","title":"Course 2","price":99.0}}},
+                   {"_index":"courses_writes","_id":"3","_score":null,"sort":[1],
+                    "_source":{"id":"3","deleted":true}}]}}
+                """);
+        server.recordBulks();
+        catalog(course("1", 10.0), course("2", 20.0), course("3", 30.0));
+
+        SyncReport report = sync.sync(INDEX);
+
+        assertEquals(2, report.created());
+        String body = String.join("", server.bulkBodies());
+        assertTrue(body.contains("\"_id\":\"1\""));
+        assertTrue(body.contains("\"price\":99.0"));
+        assertFalse(body.contains("\"price\":20.0"));
+        assertFalse(body.contains("\"price\":30.0"));
+        assertTrue(body.contains("{\"delete\":{\"_id\":\"3\""));
+    }
+
+    private void documents(long count) {
+        server.respond("/_count", "{\"count\":" + count
+                + ",\"_shards\":{\"total\":1,\"successful\":1,\"skipped\":0,\"failed\":0}}");
+    }
+
+    private void catalog(String... courses) throws IOException {
+        Files.writeString(catalog, String.join("\n", courses));
+    }
+
+    private static String course(String id, double price) {
+        return "{\"id\":\"" + id + "\",\"title\":\"Course " + id + "\",\"category\":\"Math\",\"price\":" + price + "}";
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the columnar filters and presorted orders against a plain evaluation of the same
+ * query over the sample catalog plus a few courses with missing values.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CourseColumnsTest {
+
+    private final List<CourseDocument> catalog = new ArrayList<>();
+    private CourseColumns columns;
+
+    @BeforeAll
+    void load() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        new CourseCatalogReader(objectMapper, new DefaultResourceLoader())
+                .read("classpath:sample-courses.json", catalog::add);
+        catalog.add(course("zz-no-price", "Science", null, ZonedDateTime.parse("2025-08-01T10:00:00Z")));
+        catalog.add(course("zz-no-date", "Science", 45.0, null));
+        catalog.add(course("aa-same-price", "Science", 45.0, ZonedDateTime.parse("2025-08-01T10:00:00Z")));
+        columns = CourseColumns.build(catalog);
+    }
+
+    static Stream<CourseSearchQuery> queries() {
+        ZonedDateTime july = ZonedDateTime.parse("2025-07-01T00:00:00Z");
+        return Stream.of(
+                CourseSearchQuery.of(null, null, null, null, null, null, null, null, null, 0, 10),
+                CourseSearchQuery.of(null, null, null, null, null, null, null, null, null, 5, 10),
+                CourseSearchQuery.of(null, null, null, "Science", null, null, null, null, "priceAsc", 0, 20),
+                CourseSearchQuery.of(null, null, null, "Science", null, null, null, null, "priceDesc", 0, 20),
+                CourseSearchQuery.of(null, null, null, "Science", null, null, null, null, null, 0, 20),
+                CourseSearchQuery.of(null, null, null, null, "CLUB", null, null, null, "priceDesc", 0, 5),
+                CourseSearchQuery.of(null, 8, 10, null, null, 20.0, 60.0, null, null, 0, 20),
+                CourseSearchQuery.of(null, null, null, null, null, 45.0, 45.0, null, "priceAsc", 0, 20),
+                CourseSearchQuery.of(null, null, null, null, null, null, null, july, "priceAsc", 1, 5),
+                CourseSearchQuery.of(null, 6, null, "Art", "COURSE", null, 80.0, july, null, 0, 10),
+                CourseSearchQuery.of(null, null, null, "Nonexistent", null, null, null, null, null, 0, 10),
+                CourseSearchQuery.of(null, null, null, "Math", null, null, null, null, null, 0, 0),
+                CourseSearchQuery.of(null, null, null, null, null, null, null, null, null, 100, 10));
+    }
+
+    @ParameterizedTest
+    @MethodSource("queries")
+    void matchesThePlainEvaluation(CourseSearchQuery query) {
+        List<CourseDocument> expected = reference(query);
+
+        CourseColumns.Result result = columns.search(query);
+
+        int from = query.page() * query.size();
+        assertEquals(expected.stream().skip(from).limit(query.size()).map(CourseDocument::getId).toList(),
+                result.courses().stream().map(CourseDocument::getId).toList());
+        assertEquals(expected.size(), result.total());
+    }
+
+    @Test
+    void emptyColumnsMatchNothing() {
+        CourseSearchQuery query = CourseSearchQuery.of(null, null, null, null, null, null, null, null, null, 0, 10);
+
+        assertEquals(0, CourseColumns.EMPTY.search(query).total());
+    }
+
+    private List<CourseDocument> reference(CourseSearchQuery query) {
+        Comparator<CourseDocument> order = switch (query.sort()) {
+            case CourseSearchQuery.SORT_PRICE_ASC -> Comparator.comparing(CourseDocument::getPrice,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            case CourseSearchQuery.SORT_PRICE_DESC -> Comparator.comparing(CourseDocument::getPrice,
+                    Comparator.nullsLast(Comparator.reverseOrder()));
+            default -> Comparator.comparing(c -> c.getNextSessionDate() == null ? null : c.getNextSessionDate().toInstant(),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+        };
+        return catalog.stream()
+                .filter(c -> query.category() == null || query.category().equals(c.getCategory()))
+                .filter(c -> query.type() == null || query.type().equals(c.getType()))
+                .filter(c -> query.startDate() == null || c.getNextSessionDate() != null
+                        && !c.getNextSessionDate().toInstant().isBefore(query.startDate().toInstant()))
+                .filter(c -> query.minPrice() == null || c.getPrice() != null && c.getPrice() >= query.minPrice())
+                .filter(c -> query.maxPrice() == null || c.getPrice() != null && c.getPrice() <= query.maxPrice())
+                .filter(c -> query.minAge() == null || c.getMaxAge() != null && c.getMaxAge() >= query.minAge())
+                .filter(c -> query.maxAge() == null || c.getMinAge() != null && c.getMinAge() <= query.maxAge())
+                .sorted(order.thenComparing(CourseDocument::getId))
+                .toList();
+    }
+
+    private static CourseDocument course(String id, String category, Double price, ZonedDateTime nextSessionDate) {
+        CourseDocument course = new CourseDocument();
+        course.setId(id);
+        course.setTitle(id);
+        course.setCategory(category);
+        course.setType("COURSE");
+        course.setMinAge(6);
+        course.setMaxAge(12);
+        course.setPrice(price);
+        course.setNextSessionDate(nextSessionDate);
+        return course;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseExportServiceTest {
+
+    private static final CourseSearchQuery ALL = CourseSearchQuery.of(null, null, null, null, null, null, null,
+            null, null, 0, 10);
+
+    private StubElasticsearchServer server;
+    private CourseExportService exportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = StubElasticsearchServer.start();
+        exportService = new CourseExportService(new CourseIndexScanner(server.client()), new CourseQueryBuilder(),
+                new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    void streamsEverySourceAsOneLineOfJson() throws Exception {
+        server.respond("/_pit", "{\"id\":\"pit-1\",\"succeeded\":true,\"num_freed\":1}");
+        server.respond("/_search", """
+                {"took":1,"timed_out":false,"pit_id":"pit-1",
+                 "_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+                 "hits":{"total":{"value":2,"relation":"eq"},"max_score":null,"hits":[
+                   {"_index":"courses_v1","_id":"1","_score":null,"sort":[0],
+                    "_source":{"id":"1","title":"Math Explorers","price":49.99}},
+                   {"_index":"courses_v1","_id":"2","_score":null,"sort":[1],
+                    "_source":{"id":"2","title":"Science Lab \\"Basics\\"","price":29.99}}]}}
+                """);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.export(ALL, CourseProjection.fields(List.of("id", "title", "price")), out);
+
+        assertEquals(2, written);
+        assertEquals("""
+                {"id":"1","title":"Math Explorers","price":49.99}
+                {"id":"2","title":"Science Lab \\"Basics\\"","price":29.99}
+                """, out.toString(StandardCharsets.UTF_8));
+        assertTrue(server.requests().contains("DELETE /_pit"));
+    }
+
+    @Test
+    void failingElasticsearchIsServiceUnavailable() {
+        server.fail("/_pit", 503);
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> exportService.export(ALL, CourseProjection.fields(List.of()), new ByteArrayOutputStream()));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+    }
+
+    @Test
+    void rejectedExportIsABadRequest() {
+        // The stub knows no _pit endpoint, so opening the point-in-time fails with a 404.
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> exportService.export(ALL, CourseProjection.fields(List.of()), new ByteArrayOutputStream()));
+
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+}
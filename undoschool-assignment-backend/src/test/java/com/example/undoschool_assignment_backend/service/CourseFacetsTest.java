@@ -0,0 +1,64 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import com.example.undoschool_assignment_backend.config.FacetProperties;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseFacetsTest {
+
+    private final CourseFacets facets = new CourseFacets(new CourseQueryBuilder(), new FacetProperties());
+
+    @Test
+    void facetIsCountedWithoutItsOwnFilter() {
+        CourseSearchQuery query = CourseSearchQuery.of("math", 6, null, "Math", "COURSE", null, null, null, null, 0, 10);
+
+        Map<String, Aggregation> aggregations = facets.aggregations(query);
+
+        String categoryScope = aggregations.get("category").filter().toString();
+        assertFalse(categoryScope.contains("Math"));
+        assertTrue(categoryScope.contains("COURSE"));
+        assertTrue(categoryScope.contains("maxAge"));
+        String typeScope = aggregations.get("type").filter().toString();
+        assertTrue(typeScope.contains("Math"));
+        assertFalse(typeScope.contains("COURSE"));
+    }
+
+    @Test
+    void readsBucketsOfEveryFacet() throws Exception {
+        try (StubElasticsearchServer server = StubElasticsearchServer.start()) {
+            server.respond("/_search", """
+                    {"took":1,"timed_out":false,"_shards":{"total":1,"successful":1,"skipped":0,"failed":0},
+                     "hits":{"total":{"value":5,"relation":"eq"},"max_score":null,"hits":[]},
+                     "aggregations":{
+                       "filter#category":{"doc_count":5,"sterms#buckets":{"doc_count_error_upper_bound":0,"sum_other_doc_count":0,
+                         "buckets":[{"key":"Math","doc_count":3},{"key":"Art","doc_count":2}]}},
+                       "filter#type":{"doc_count":5,"sterms#buckets":{"doc_count_error_upper_bound":0,"sum_other_doc_count":0,
+                         "buckets":[{"key":"COURSE","doc_count":5}]}},
+                       "filter#price":{"doc_count":5,"histogram#buckets":{"buckets":[{"key":20.0,"doc_count":4},{"key":40.0,"doc_count":1}]}},
+                       "filter#age":{"doc_count":5,"filters#buckets":{"buckets":{"3-5":{"doc_count":0},"6-8":{"doc_count":5},
+                         "9-12":{"doc_count":2},"13-18":{"doc_count":0}}}},
+                       "filter#nextSessionDate":{"doc_count":5,"date_histogram#buckets":{"buckets":[
+                         {"key_as_string":"2025-06-01T00:00:00.000Z","key":1748736000000,"doc_count":5}]}}}}
+                    """);
+            SearchResponse<Void> response = server.client().search(s -> s.index("courses"), Void.class);
+
+            Map<String, List<Facets.Bucket>> result = facets.read(response.aggregations()).facets();
+
+            assertEquals(List.of(Facets.Bucket.of("Math", 3), Facets.Bucket.of("Art", 2)), result.get("category"));
+            assertEquals(new Facets.Bucket("20.0", 4, 20.0, 30.0), result.get("price").get(0));
+            assertEquals(new Facets.Bucket("6-8", 5, 6, 8), result.get("age").get(1));
+            assertEquals(4, result.get("age").size());
+            assertEquals(new Facets.Bucket("2025-06-01T00:00:00Z", 5, "2025-06-01T00:00:00Z", "2025-07-01T00:00:00Z"),
+                    result.get("nextSessionDate").get(0));
+        }
+    }
+}
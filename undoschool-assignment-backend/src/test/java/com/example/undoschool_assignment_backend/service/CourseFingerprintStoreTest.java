@@ -0,0 +1,35 @@
+package com.example.undoschool_assignment_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseFingerprintStoreTest {
+
+    private final CourseFingerprintStore store = new CourseFingerprintStore();
+
+    @Test
+    void roundTripsFingerprintsForSameIndex(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("nested").resolve("courses.fingerprints");
+        Map<String, Long> fingerprints = Map.of("1", -42L, "course\twith tab", 7L);
+
+        store.save(file, "uuid-1", fingerprints);
+
+        assertEquals(fingerprints, store.load(file, "uuid-1").orElseThrow());
+    }
+
+    @Test
+    void ignoresFingerprintsOfAnotherIndex(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("courses.fingerprints");
+        store.save(file, "uuid-1", Map.of("1", 1L));
+
+        assertTrue(store.load(file, "uuid-2").isEmpty());
+        assertTrue(store.load(dir.resolve("missing"), "uuid-1").isEmpty());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.IndexProperties;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CourseIndexManagerTest {
+
+    private static final String SHARDS = "\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0}";
+
+    private final CourseCatalogSync catalogSync = mock(CourseCatalogSync.class);
+    private final IndexGeneration indexGeneration = new IndexGeneration();
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private StubElasticsearchServer server;
+    private CourseIndexManager indexManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = StubElasticsearchServer.start();
+        server.respond("/_alias/courses", "{\"courses_v1\":{\"aliases\":{\"courses\":{}}}}");
+        server.respond("/courses_v*", "{\"courses_v1\":{}}");
+        server.respond("/courses_v2", "{\"acknowledged\":true,\"shards_acknowledged\":true,\"index\":\"courses_v2\"}");
+        server.respond("/_forcemerge", "{" + SHARDS + "}");
+        server.respond("/_search", "{\"took\":1,\"timed_out\":false," + SHARDS
+                + ",\"hits\":{\"total\":{\"value\":0,\"relation\":\"eq\"},\"hits\":[]}}");
+        indexManager = new CourseIndexManager(server.client(), catalogSync, mock(CourseIndexTemplate.class),
+                new IndexProperties(), indexGeneration, events::add);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    void rebuildLoadsANewVersionAndSwapsTheAlias() throws Exception {
+        when(catalogSync.sync("courses_v2")).thenReturn(new SyncReport(false, 50, 0, 0, 0, 0));
+        long generation = indexGeneration.current();
+
+        RebuildResult result = indexManager.rebuild();
+
+        assertEquals("courses_v1", result.previousIndex());
+        assertEquals("courses_v2", result.activeIndex());
+        assertEquals(50, result.sync().created());
+        List<String> requests = server.requests();
+        assertTrue(requests.contains("PUT /courses_v2"));
+        assertTrue(requests.contains("POST /courses_v2/_forcemerge"));
+        assertTrue(requests.contains("POST /_aliases"));
+        assertFalse(requests.contains("DELETE /courses_v2"));
+        // Write block on the old version set before the load and lifted after the swap.
+        assertEquals(2, requests.stream().filter("PUT /courses_v1/_settings"::equals).count());
+        assertTrue(requests.indexOf("PUT /courses_v1/_settings") < requests.indexOf("PUT /courses_v2"));
+        assertTrue(requests.lastIndexOf("PUT /courses_v1/_settings") > requests.indexOf("POST /_aliases"));
+        verify(catalogSync).replayWrites("courses_v2");
+        assertTrue(indexGeneration.current() > generation);
+        assertEquals(List.of(new CourseIndexReplacedEvent("courses_v2")), events);
+    }
+
+    @Test
+    void rejectsARebuildOrRollbackWhileOneIsRunning() throws Exception {
+        CountDownLatch syncing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(catalogSync.sync("courses_v2")).thenAnswer(invocation -> {
+            syncing.countDown();
+            release.await();
+            return new SyncReport(false, 50, 0, 0, 0, 0);
+        });
+        CompletableFuture<RebuildResult> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return indexManager.rebuild();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(syncing.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IndexConflictException.class, indexManager::rebuild);
+        assertThrows(IndexConflictException.class, indexManager::rollback);
+
+        release.countDown();
+        assertEquals("courses_v2", first.get(5, TimeUnit.SECONDS).activeIndex());
+    }
+
+    @Test
+    void rollbackWithoutAnEarlierVersionIsAConflict() {
+        IndexConflictException conflict = assertThrows(IndexConflictException.class, indexManager::rollback);
+
+        assertTrue(conflict.getMessage().contains("No earlier version"));
+        assertFalse(server.requests().contains("POST /_aliases"));
+        // The guard is released, so the next attempt fails for the same reason rather than as "already running".
+        assertTrue(assertThrows(IndexConflictException.class, indexManager::rollback).getMessage().contains("No earlier version"));
+    }
+
+    @Test
+    void rollbackAfterARebuildReturnsToTheIndexThatWasLive() throws Exception {
+        aliases("courses_v2", "courses_v1", 1, 2);
+
+        assertEquals("courses_v1", indexManager.rollback().activeIndex());
+
+        aliases("courses_v1", "courses_v2", 1, 2);
+        server.respond("/courses_v3", "{\"acknowledged\":true,\"shards_acknowledged\":true,\"index\":\"courses_v3\"}");
+        when(catalogSync.sync("courses_v3")).thenAnswer(invocation -> {
+            server.respond("/courses_v*", "{\"courses_v1\":{},\"courses_v2\":{},\"courses_v3\":{}}");
+            return new SyncReport(false, 50, 0, 0, 0, 0);
+        });
+        assertEquals("courses_v3", indexManager.rebuild().activeIndex());
+        // v1 is the oldest version but the rollback target, so v2 expires instead.
+        assertTrue(server.requests().contains("DELETE /courses_v2"));
+        assertFalse(server.requests().contains("DELETE /courses_v1"));
+
+        aliases("courses_v3", "courses_v1", 1, 3);
+        assertEquals("courses_v1", indexManager.rollback().activeIndex());
+    }
+
+    @Test
+    void failedRebuildDeletesTheNewVersionAndKeepsTheAlias() throws Exception {
+        when(catalogSync.sync("courses_v2")).thenReturn(new SyncReport(false, 49, 0, 0, 0, 1));
+
+        assertThrows(IOException.class, indexManager::rebuild);
+
+        List<String> requests = server.requests();
+        assertTrue(requests.contains("PUT /courses_v2"));
+        assertTrue(requests.contains("DELETE /courses_v2"));
+        assertFalse(requests.contains("POST /_aliases"));
+        assertTrue(events.isEmpty());
+
+        when(catalogSync.sync("courses_v2")).thenReturn(new SyncReport(false, 50, 0, 0, 0, 0));
+        assertEquals("courses_v2", indexManager.rebuild().activeIndex());
+    }
+
+    private void aliases(String active, String rollbackTarget, int... versions) {
+        server.respond("/_alias/courses", "{\"" + active + "\":{\"aliases\":{\"courses\":{}}}}");
+        server.respond("/_alias/courses_rollback", "{\"" + rollbackTarget + "\":{\"aliases\":{\"courses_rollback\":{}}}}");
+        StringBuilder indices = new StringBuilder();
+        for (int version : versions) {
+            indices.append(indices.isEmpty() ? "" : ",").append("\"courses_v").append(version).append("\":{}");
+        }
+        server.respond("/courses_v*", "{" + indices + "}");
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch._types.mapping.TypeMapping;
+import co.elastic.clients.elasticsearch.indices.IndexSettings;
+import com.example.undoschool_assignment_backend.config.IndexProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseIndexTemplateTest {
+
+    private final IndexProperties properties = new IndexProperties();
+    private final CourseIndexTemplate template = new CourseIndexTemplate(null, properties);
+
+    @Test
+    void sortsSegmentsLikeTheDefaultAndCursorSorts() {
+        IndexSettings settings = template.settings();
+
+        assertEquals(List.of("nextSessionDate", CourseQueryBuilder.TIE_BREAKER_FIELD), settings.sort().field());
+        assertEquals("1", settings.numberOfShards());
+    }
+
+    @Test
+    void storesUnsearchedFieldsOnlyInSource() {
+        Property gradeRange = template.mappings().properties().get("gradeRange");
+
+        assertFalse(gradeRange.keyword().index());
+        assertFalse(gradeRange.keyword().docValues());
+    }
+
+    @Test
+    void addsSearchAsYouTypeTitlesWhenConfigured() {
+        assertTrue(template.mappings().properties().get("title").text().fields().isEmpty());
+
+        properties.setTitleAutocomplete(IndexProperties.TitleAutocomplete.SEARCH_AS_YOU_TYPE);
+
+        assertTrue(template.mappings().properties().get("title").text().fields().get("autocomplete").isSearchAsYouType());
+    }
+
+    @Test
+    void reportsNoDriftForAnIndexCreatedFromTheTemplate() {
+        TypeMapping mapping = template.mappings();
+
+        assertEquals(List.of(), CourseIndexTemplate.compare("", mapping.properties(), mapping.properties()));
+        assertEquals(List.of(), CourseIndexTemplate.compare(template.settings(),
+                IndexSettings.of(s -> s.index(template.settings()))));
+    }
+
+    @Test
+    void reportsDriftedFieldsAndSettings() {
+        properties.setTitleAutocomplete(IndexProperties.TitleAutocomplete.SEARCH_AS_YOU_TYPE);
+        Map<String, Property> live = new HashMap<>(template.mappings().properties());
+        live.put("title", Property.of(p -> p.text(t -> t)));
+        live.put("category", Property.of(p -> p.text(t -> t)));
+        live.remove("price");
+        live.put("teacher", Property.of(p -> p.keyword(k -> k)));
+
+        List<String> drift = CourseIndexTemplate.compare("", template.mappings().properties(), live);
+
+        assertEquals(4, drift.size(), drift.toString());
+        assertTrue(drift.contains("field 'title.autocomplete' is not mapped"));
+        assertTrue(drift.contains("field 'category' is mapped as text, expected keyword"));
+        assertTrue(drift.contains("field 'price' is not mapped"));
+        assertTrue(drift.contains("field 'teacher' is mapped but not in the template"));
+        assertEquals(2, CourseIndexTemplate.compare(template.settings(),
+                IndexSettings.of(s -> s.index(i -> i.numberOfShards("5")))).size());
+    }
+}
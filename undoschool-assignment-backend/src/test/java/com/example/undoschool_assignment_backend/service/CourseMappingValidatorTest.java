@@ -0,0 +1,97 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import com.example.undoschool_assignment_backend.config.IndexProperties;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseMappingValidatorTest {
+
+    @Test
+    void keepsKeywordFieldsOfTheIndexMapping() {
+        CourseMappingValidator.Resolution resolution = CourseMappingValidator.resolve(mapping(keyword()));
+
+        assertEquals(CourseQueryBuilder.FilterFields.DEFAULT, resolution.filterFields());
+        assertEquals(List.of(), resolution.problems());
+    }
+
+    @Test
+    void usesKeywordSubFieldsOfDynamicMapping() {
+        Property dynamic = Property.of(p -> p.text(t -> t.fields("keyword", f -> f.keyword(k -> k.ignoreAbove(256)))));
+
+        CourseMappingValidator.Resolution resolution = CourseMappingValidator.resolve(mapping(dynamic));
+
+        assertEquals(new CourseQueryBuilder.FilterFields("category.keyword", "type.keyword"), resolution.filterFields());
+        assertEquals(List.of(), resolution.problems());
+    }
+
+    @Test
+    void reportsFieldsTheQueriesCannotUse() {
+        Map<String, Property> properties = mapping(Property.of(p -> p.text(t -> t)));
+        properties.remove("price");
+        properties.put("nextSessionDate", keyword());
+
+        List<String> problems = CourseMappingValidator.resolve(properties).problems();
+
+        assertEquals(4, problems.size());
+        assertEquals("field 'price' is not mapped", problems.get(0));
+    }
+
+    @Test
+    void detectsTheTitleAutocompleteSubField() {
+        Map<String, Property> properties = mapping(keyword());
+        assertFalse(CourseMappingValidator.resolve(properties).titleAutocomplete());
+
+        properties.put("title", Property.of(p -> p.text(t -> t.fields("autocomplete", f -> f.searchAsYouType(sayt -> sayt)))));
+        assertTrue(CourseMappingValidator.resolve(properties).titleAutocomplete());
+    }
+
+    @Test
+    void suggestsWithTheCompletionSuggesterUntilTheLiveIndexHasTheAutocompleteField() throws Exception {
+        IndexProperties indexProperties = new IndexProperties();
+        indexProperties.setTitleAutocomplete(IndexProperties.TitleAutocomplete.SEARCH_AS_YOU_TYPE);
+        try (StubElasticsearchServer server = StubElasticsearchServer.start()) {
+            ElasticsearchTitleSuggester suggester = new ElasticsearchTitleSuggester(server.client(),
+                    new ElasticsearchAsyncClient(server.client()._transport()), indexProperties);
+            CourseMappingValidator validator = new CourseMappingValidator(server.client(), new CourseQueryBuilder(),
+                    suggester, indexProperties);
+            assertFalse(suggester.searchAsYouType());
+
+            server.respond("/_mapping", "{\"courses_v1\":{\"mappings\":{\"properties\":{\"title\":{\"type\":\"text\"}}}}}");
+            validator.onReplaced(new CourseIndexReplacedEvent("courses_v1"));
+            assertFalse(suggester.searchAsYouType());
+
+            server.respond("/_mapping", "{\"courses_v2\":{\"mappings\":{\"properties\":{\"title\":{\"type\":\"text\","
+                    + "\"fields\":{\"autocomplete\":{\"type\":\"search_as_you_type\"}}}}}}}");
+            validator.onReplaced(new CourseIndexReplacedEvent("courses_v2"));
+            assertTrue(suggester.searchAsYouType());
+        }
+    }
+
+    private static Map<String, Property> mapping(Property categoryAndType) {
+        Map<String, Property> properties = new HashMap<>();
+        properties.put("id", keyword());
+        properties.put("title", Property.of(p -> p.text(t -> t)));
+        properties.put("description", Property.of(p -> p.text(t -> t)));
+        properties.put("category", categoryAndType);
+        properties.put("type", categoryAndType);
+        properties.put("minAge", Property.of(p -> p.integer(i -> i)));
+        properties.put("maxAge", Property.of(p -> p.long_(l -> l)));
+        properties.put("price", Property.of(p -> p.float_(f -> f)));
+        properties.put("nextSessionDate", Property.of(p -> p.date(d -> d)));
+        return properties;
+    }
+
+    private static Property keyword() {
+        return Property.of(p -> p.keyword(k -> k));
+    }
+}
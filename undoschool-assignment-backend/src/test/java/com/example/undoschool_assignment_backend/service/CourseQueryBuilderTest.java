@@ -0,0 +1,54 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseQueryBuilderTest {
+
+    private final CourseQueryBuilder queryBuilder = new CourseQueryBuilder();
+
+    @Test
+    void filterOnlyQueryIsConstantScore() {
+        Query query = queryBuilder.query(CourseSearchQuery.of(null, null, null, "Math", null, null, null, null, null, 0, 10));
+
+        assertTrue(query.isConstantScore());
+        assertEquals("category", query.constantScore().filter().bool().filter().get(0).term().field());
+    }
+
+    @Test
+    void textQueryKeepsFiltersOutOfScoring() {
+        Query query = queryBuilder.query(CourseSearchQuery.of("math", null, null, "Math", null, null, null, null, null, 0, 10));
+
+        assertTrue(query.isBool());
+        assertTrue(query.bool().must().get(0).isMultiMatch());
+        assertEquals(1, query.bool().filter().size());
+    }
+
+    @Test
+    void startDatesWithinTheSameHourBuildTheSameFilter() {
+        CourseSearchQuery first = CourseSearchQuery.of(null, null, null, null, null, null, null,
+                ZonedDateTime.parse("2025-06-01T10:05:12+05:30"), null, 0, 10);
+        CourseSearchQuery second = CourseSearchQuery.of(null, null, null, null, null, null, null,
+                ZonedDateTime.parse("2025-06-01T04:59:59Z"), null, 0, 10);
+
+        assertEquals(first, second);
+        assertEquals(queryBuilder.query(first).toString(), queryBuilder.query(second).toString());
+        assertEquals("2025-06-01T04:00Z",
+                queryBuilder.filter(first).bool().filter().get(0).range().gte().to(String.class));
+    }
+
+    @Test
+    void usesResolvedFilterFields() {
+        queryBuilder.useFilterFields(new CourseQueryBuilder.FilterFields("category.keyword", "type.keyword"));
+
+        Query filter = queryBuilder.filter(CourseSearchQuery.of(null, null, null, "Math", "CLUB", null, null, null, null, 0, 10));
+
+        assertEquals("category.keyword", filter.bool().filter().get(0).term().field());
+        assertEquals("type.keyword", filter.bool().filter().get(1).term().field());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CourseReadModelTest {
+
+    private static final CourseSearchQuery ALL = CourseSearchQuery.of(null, null, null, null, null, null, null,
+            null, null, 0, 10);
+
+    private final CourseIndexScanner scanner = mock(CourseIndexScanner.class);
+    private final CourseReadModel readModel = new CourseReadModel(scanner, new ObjectMapper());
+
+    @AfterEach
+    void tearDown() {
+        readModel.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadsOffTheEventThreadAndKeepsChangesMadeDuringTheScan() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(scanner.scan(eq(CourseIndexManager.ALIAS), any(), anyList(), anyList(), anyInt(),
+                eq(CourseDocument.class), any())).thenAnswer(invocation -> {
+            scanning.countDown();
+            release.await();
+            Consumer<CourseDocument> consumer = invocation.getArgument(6);
+            consumer.accept(course("1", "Math Explorers"));
+            consumer.accept(course("2", "Science Lab"));
+            return 2L;
+        });
+
+        readModel.onReplaced(new CourseIndexReplacedEvent("courses_v1"));
+        assertTrue(scanning.await(5, TimeUnit.SECONDS));
+        assertFalse(readModel.canAnswer(ALL));
+
+        // Written through the API while the scan is running: the scan's copies are older.
+        readModel.onIndexed(new CoursesIndexedEvent(CourseIndexManager.ALIAS,
+                List.of(course("1", "Math Explorers II"), course("3", "Robotics 101")), List.of("2")));
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!readModel.canAnswer(ALL) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Page<CourseDocument> page = readModel.search(ALL, CourseProjection.FULL);
+        assertEquals(List.of("1", "3"), page.getContent().stream().map(CourseDocument::getId).sorted().toList());
+        assertEquals("Math Explorers II", page.getContent().stream()
+                .filter(course -> course.getId().equals("1")).findFirst().orElseThrow().getTitle());
+    }
+
+    private static CourseDocument course(String id, String title) {
+        return new CourseDocument(id, title, null, "Math", "COURSE", null, 6, 10, 20.0,
+                ZonedDateTime.parse("2025-06-10T15:00:00Z").plusDays(Long.parseLong(id)), null);
+    }
+}
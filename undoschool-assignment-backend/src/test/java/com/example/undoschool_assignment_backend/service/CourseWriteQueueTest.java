@@ -0,0 +1,230 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.IndexProperties;
+import com.example.undoschool_assignment_backend.config.WriteQueueProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CourseWriteQueueTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IndexGeneration indexGeneration = new IndexGeneration();
+    private final CourseWriteLog writeLog = mock(CourseWriteLog.class);
+    private StubElasticsearchServer server;
+    private CourseWriteQueue queue;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = StubElasticsearchServer.start();
+        server.recordBulks();
+        WriteQueueProperties properties = new WriteQueueProperties();
+        // Flushed explicitly by the tests.
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setInitialBackoff(Duration.ofMillis(300));
+        queue = new CourseWriteQueue(server.client(), properties, writeLog, new IndexProperties(), indexGeneration,
+                events::add, objectMapper, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        queue.shutdown();
+        server.close();
+    }
+
+    @Test
+    void coalescesWritesToTheSameCourseIntoOneBulkItem() throws Exception {
+        CompletableFuture<CourseWriteResult> queued = queue.upsert("1", course("Math Explorers", 40.0), false);
+        queue.patch("1", fields("{\"price\": 35.0}"), false);
+        queue.patch("1", fields("{\"title\": \"Math Explorers II\"}"), false);
+        queue.patch("2", fields("{\"price\": 20.0}"), false);
+        queue.patch("2", fields("{\"category\": \"Math\"}"), false);
+
+        queue.flushAll();
+
+        assertEquals("queued", queued.get().result());
+        assertEquals(1, server.bulkRequests());
+        String body = server.bulkBodies().get(0);
+        List<String> lines = body.lines().toList();
+        assertEquals(4, lines.size());
+        ObjectNode upserted = (ObjectNode) objectMapper.readTree(lines.get(1));
+        assertEquals("Math Explorers II", upserted.get("title").asText());
+        assertEquals(35.0, upserted.get("price").asDouble());
+        assertEquals("Math Explorers II", upserted.at("/suggest/input/0").asText());
+        ObjectNode patched = (ObjectNode) objectMapper.readTree(lines.get(3));
+        assertEquals(20.0, patched.at("/doc/price").asDouble());
+        assertEquals("Math", patched.at("/doc/category").asText());
+        assertFalse(server.bulkQueries().get(0).contains("refresh"));
+        assertEquals(3, meterRegistry.counter("courses.writes.coalesced").count());
+        // Not visible before the next refresh, one interval after the acknowledgement.
+        assertTrue(meterRegistry.timer("courses.writes.visible.lag", "refresh", "none").max(TimeUnit.MILLISECONDS) >= 1000);
+    }
+
+    @Test
+    void waitForCompletesOnceTheBatchIsRefreshed() throws Exception {
+        CompletableFuture<CourseWriteResult> created = queue.upsert("1", course("Robotics 101", 60.0), true);
+        CompletableFuture<CourseWriteResult> patched = queue.patch("2", fields("{\"price\": 15.0}"), true);
+        assertFalse(created.isDone());
+
+        queue.flushAll();
+
+        assertEquals("created", created.get(5, TimeUnit.SECONDS).result());
+        assertEquals("updated", patched.get(5, TimeUnit.SECONDS).result());
+        assertTrue(server.bulkQueries().get(0).contains("refresh=wait_for"));
+        assertEquals(2, meterRegistry.timer("courses.writes.visible.lag", "refresh", "wait_for").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishesAcknowledgedWritesAndInvalidatesCaches() throws Exception {
+        long generation = indexGeneration.current();
+        queue.upsert("1", course("Robotics 101", 60.0), false);
+        queue.patch("2", fields("{\"title\": \"Chess Club\"}"), false);
+        queue.delete("3", false);
+
+        queue.flushAll();
+
+        CoursesIndexedEvent event = (CoursesIndexedEvent) events.get(0);
+        assertEquals(CourseIndexManager.ALIAS, event.index());
+        assertEquals(List.of("Robotics 101", "Chess Club"), event.upserts().stream().map(CourseDocument::getTitle).toList());
+        assertEquals(List.of("3"), event.deletedIds());
+        assertTrue(indexGeneration.current() > generation);
+        ArgumentCaptor<Map<String, CourseDocument>> logged = ArgumentCaptor.forClass(Map.class);
+        verify(writeLog).record(logged.capture());
+        assertEquals("Robotics 101", logged.getValue().get("1").getTitle());
+        assertTrue(logged.getValue().containsKey("3"));
+        assertNull(logged.getValue().get("3"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retriesWritesTheWriteLogCouldNotTake() throws Exception {
+        ArgumentCaptor<Map<String, CourseDocument>> logged = ArgumentCaptor.forClass(Map.class);
+        doThrow(new IOException("write log unavailable")).doNothing().when(writeLog).record(logged.capture());
+        CompletableFuture<CourseWriteResult> created = queue.upsert("1", course("Robotics 101", 60.0), true);
+
+        queue.flushAll();
+        assertEquals("created", created.get(5, TimeUnit.SECONDS).result());
+        queue.flushAll();
+
+        verify(writeLog, times(2)).record(any());
+        assertEquals(Set.of("1"), logged.getAllValues().get(1).keySet());
+    }
+
+    @Test
+    void holdsWritesRejectedByTheWriteBlockOfARebuild() throws Exception {
+        server.failItem("1", 403, "cluster_block_exception");
+        CompletableFuture<CourseWriteResult> created = queue.upsert("1", course("Robotics 101", 60.0), true);
+
+        queue.flushAll();
+        queue.flushAll();
+        assertEquals(1, server.bulkRequests());
+
+        // More rejections than max-retries: a blocked write does not give up.
+        for (int i = 0; i < 6; i++) {
+            Thread.sleep(350);
+            queue.flushAll();
+        }
+        assertEquals(7, server.bulkRequests());
+        assertFalse(created.isDone());
+
+        server.clearFailures();
+        Thread.sleep(350);
+        queue.flushAll();
+
+        assertEquals(8, server.bulkRequests());
+        assertEquals("created", created.get(5, TimeUnit.SECONDS).result());
+    }
+
+    @Test
+    void retriesRejectedWritesWithBackoff() throws Exception {
+        server.failItem("1", 429);
+        CompletableFuture<CourseWriteResult> created = queue.upsert("1", course("Robotics 101", 60.0), true);
+        queue.flushAll();
+        server.clearFailures();
+        queue.patch("1", fields("{\"price\": 55.0}"), false);
+
+        queue.flushAll();
+
+        assertEquals(1, server.bulkRequests());
+        assertFalse(created.isDone());
+
+        Thread.sleep(400);
+        queue.flushAll();
+
+        assertEquals(2, server.bulkRequests());
+        assertEquals("created", created.get(5, TimeUnit.SECONDS).result());
+        ObjectNode retried = (ObjectNode) objectMapper.readTree(server.bulkBodies().get(1).lines().toList().get(1));
+        assertEquals(55.0, retried.get("price").asDouble());
+    }
+
+    @Test
+    void refusesToPatchACourseBeingDeleted() {
+        queue.delete("1", false);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> queue.patch("1", fields("{\"price\": 10.0}"), false));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+    }
+
+    @Test
+    void rejectsUnknownOrInvalidFields() {
+        assertThrows(ResponseStatusException.class, () -> queue.patch("1", fields("{\"id\": \"2\"}"), false));
+        assertThrows(ResponseStatusException.class, () -> queue.patch("1", fields("{\"price\": \"free\"}"), false));
+        assertThrows(ResponseStatusException.class, () -> queue.upsert("1", course("Other", 1.0, "2"), false));
+    }
+
+    private ObjectNode fields(String json) {
+        try {
+            return (ObjectNode) objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static CourseDocument course(String title, Double price) {
+        return course(title, price, null);
+    }
+
+    private static CourseDocument course(String title, Double price, String id) {
+        CourseDocument course = new CourseDocument();
+        course.setId(id);
+        course.setTitle(title);
+        course.setCategory("Science");
+        course.setType("COURSE");
+        course.setPrice(price);
+        return course;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import com.example.undoschool_assignment_backend.config.CursorProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final CursorCodec codec = new CursorCodec(objectMapper, properties("secret"));
+
+    private final CourseSearchQuery query = CourseSearchQuery.of("math", 6, 10, "Math", null, 10.0, null,
+            ZonedDateTime.parse("2025-06-01T00:00:00Z"), "priceDesc", 0, 100);
+
+    @Test
+    void roundTripsPitSortValuesAndQuery() {
+        List<FieldValue> after = List.of(FieldValue.of(1749567600000L), FieldValue.of(49.99), FieldValue.of("course-7"));
+
+        CursorCodec.Token token = codec.decode(codec.encode("pit-id", after, query));
+
+        assertEquals("pit-id", token.pitId());
+        assertEquals(query, token.query());
+        assertEquals(after.stream().map(FieldValue::_get).toList(),
+                token.searchAfterValues().stream().map(FieldValue::_get).toList());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(ResponseStatusException.class, () -> codec.decode("not a cursor!"));
+    }
+
+    @Test
+    void rejectsEditedCursor() throws Exception {
+        String cursor = codec.encode("pit-id", List.of(FieldValue.of("course-7")), query);
+        CourseSearchQuery larger = CourseSearchQuery.of("math", 6, 10, "Math", null, 10.0, null,
+                ZonedDateTime.parse("2025-06-01T00:00:00Z"), "priceDesc", 0, 100_000);
+        String edited = base64(json(new CursorCodec.Token("pit-id", List.of("course-7"), larger)))
+                + cursor.substring(cursor.indexOf('.'));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> codec.decode(edited));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        assertThrows(ResponseStatusException.class,
+                () -> new CursorCodec(objectMapper, properties("other secret")).decode(cursor));
+    }
+
+    @Test
+    void rejectsSignedCursorWithoutSortValuesOrBeyondTheMaximumSize() throws Exception {
+        String withoutSearchAfter = signed(new CursorCodec.Token("pit-id", null, query));
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> codec.decode(withoutSearchAfter));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+
+        CourseSearchQuery larger = CourseSearchQuery.of(null, null, null, null, null, null, null, null, null, 0, 101);
+        assertThrows(ResponseStatusException.class, () -> codec.check(larger));
+        assertThrows(ResponseStatusException.class,
+                () -> codec.decode(signed(new CursorCodec.Token("pit-id", List.of("course-7"), larger))));
+    }
+
+    private String signed(CursorCodec.Token token) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec("secret".getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] json = json(token);
+        return base64(json) + "." + base64(mac.doFinal(json));
+    }
+
+    private byte[] json(CursorCodec.Token token) throws Exception {
+        return objectMapper.writeValueAsBytes(token);
+    }
+
+    private static String base64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static CursorProperties properties(String secret) {
+        CursorProperties properties = new CursorProperties();
+        properties.setSecret(secret);
+        return properties;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.example.undoschool_assignment_backend.config.BatchSearchProperties;
+import com.example.undoschool_assignment_backend.config.SlowQueryProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.support.StubElasticsearchServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ElasticsearchSearchBackendTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StubElasticsearchServer server;
+    private ElasticsearchSearchBackend backend;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = StubElasticsearchServer.start();
+        SearchMetrics metrics = new SearchMetrics(meterRegistry, new SlowQueryProperties(), new JacksonJsonpMapper());
+        backend = new ElasticsearchSearchBackend(new ElasticsearchAsyncClient(server.client()._transport()),
+                new CourseQueryBuilder(), null, metrics, new BatchSearchProperties());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    void answersEachQueryOfAMultiSearchInOrder() throws Exception {
+        server.respond("/_msearch", """
+                {"took": 3, "responses": [
+                  {"took": 1, "timed_out": false, "status": 200,
+                   "_shards": {"total": 1, "successful": 1, "failed": 0},
+                   "hits": {"total": {"value": 2, "relation": "eq"}, "hits": [
+                     {"_index": "courses_v1", "_id": "1", "_source": {"id": "1", "title": "Math Explorers"}}
+                   ]}},
+                  {"status": 400, "error": {"type": "search_phase_execution_exception", "reason": "all shards failed"}},
+                  {"took": 1, "timed_out": false, "status": 200,
+                   "_shards": {"total": 1, "successful": 1, "failed": 0},
+                   "hits": {"total": {"value": 0, "relation": "eq"}, "hits": []}}
+                ]}
+                """);
+        List<CourseSearchQuery> queries = List.of(
+                CourseSearchQuery.of(null, null, null, "Math", null, null, null, null, null, 0, 1),
+                CourseSearchQuery.of("art", null, null, null, null, null, null, null, null, 0, 10),
+                CourseSearchQuery.of(null, null, null, null, "CLUB", null, null, null, null, 0, 0));
+
+        List<CompletableFuture<Page<CourseDocument>>> pages = backend.searchAll(queries, CourseProjection.FULL);
+
+        assertEquals(3, pages.size());
+        Page<CourseDocument> first = pages.get(0).get();
+        assertEquals(2, first.getTotalElements());
+        assertEquals("Math Explorers", first.getContent().get(0).getTitle());
+        ExecutionException failed = assertThrows(ExecutionException.class, () -> pages.get(1).get());
+        ElasticsearchException cause = assertInstanceOf(ElasticsearchException.class, failed.getCause());
+        assertEquals(400, cause.status());
+        assertEquals(0, pages.get(2).get().getTotalElements());
+        assertEquals(1, meterRegistry.get("courses.search.phase").tag("operation", "msearch").tag("phase", "build").timer().count());
+    }
+
+    @Test
+    void failsEveryQueryWhenTheRequestFails() {
+        List<CourseSearchQuery> queries = List.of(
+                CourseSearchQuery.of(null, null, null, "Math", null, null, null, null, null, 0, 10),
+                CourseSearchQuery.of(null, null, null, "Art", null, null, null, null, null, 0, 10));
+
+        // The stub answers unknown endpoints with 404.
+        List<CompletableFuture<Page<CourseDocument>>> pages = backend.searchAll(queries, CourseProjection.FULL);
+
+        for (CompletableFuture<Page<CourseDocument>> page : pages) {
+            assertThrows(ExecutionException.class, page::get);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.CatalogProperties;
+import com.example.undoschool_assignment_backend.config.EmbeddedSearchProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import com.example.undoschool_assignment_backend.document.CourseListItem;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.domain.Page;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the embedded backend against a straightforward in-memory evaluation of the same
+ * filters and sort orders over {@code sample-courses.json}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmbeddedSearchBackendTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CourseCatalogReader catalogReader = new CourseCatalogReader(objectMapper, new DefaultResourceLoader());
+    private final List<CourseDocument> catalog = new ArrayList<>();
+    private EmbeddedSearchBackend backend;
+
+    @BeforeAll
+    void load() throws IOException {
+        catalogReader.read("classpath:sample-courses.json", catalog::add);
+        backend = new EmbeddedSearchBackend(catalogReader, new CatalogProperties(), new EmbeddedSearchProperties(), objectMapper);
+        backend.load();
+    }
+
+    @AfterAll
+    void close() throws IOException {
+        backend.close();
+    }
+
+    static Stream<CourseSearchQuery> filterQueries() {
+        ZonedDateTime july = ZonedDateTime.parse("2025-07-01T00:00:00Z");
+        return Stream.of(
+                CourseSearchQuery.of(null, null, null, null, null, null, null, null, null, 0, 10),
+                CourseSearchQuery.of(null, null, null, null, null, null, null, null, null, 3, 7),
+                CourseSearchQuery.of(null, null, null, "Science", null, null, null, null, "priceAsc", 0, 10),
+                CourseSearchQuery.of(null, null, null, null, "CLUB", null, null, null, "priceDesc", 0, 5),
+                CourseSearchQuery.of(null, 8, 10, null, null, 20.0, 60.0, null, null, 0, 20),
+                CourseSearchQuery.of(null, null, null, null, null, null, null, july, "priceAsc", 1, 5),
+                CourseSearchQuery.of(null, 6, null, "Art", "COURSE", null, 80.0, july, null, 0, 10),
+                CourseSearchQuery.of(null, null, null, "Math", null, null, null, null, null, 0, 0));
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterQueries")
+    void filtersAndSortsLikeTheReference(CourseSearchQuery query) {
+        List<CourseDocument> expected = reference(query);
+
+        Page<CourseDocument> page = backend.search(query, CourseProjection.FULL).join();
+
+        int from = query.page() * query.size();
+        List<String> expectedIds = expected.stream().skip(from).limit(query.size()).map(CourseDocument::getId).toList();
+        assertEquals(expectedIds, page.getContent().stream().map(CourseDocument::getId).toList());
+        assertEquals(expected.size(), page.getTotalElements());
+    }
+
+    @Test
+    void fuzzyTextMatchBoostsTitles() {
+        CourseSearchQuery query = CourseSearchQuery.of("explorrs", null, null, null, null, null, null, null, null, 0, 10);
+
+        List<String> titles = backend.search(query, CourseProjection.FULL).join().getContent().stream()
+                .map(CourseDocument::getTitle)
+                .toList();
+
+        assertTrue(titles.containsAll(List.of("Math Explorers", "Space Explorers")), titles.toString());
+    }
+
+    @Test
+    void shortTermsMustMatchExactly() {
+        CourseSearchQuery query = CourseSearchQuery.of("xq", null, null, null, null, null, null, null, null, 0, 10);
+
+        assertEquals(0, backend.search(query, CourseProjection.FULL).join().getTotalElements());
+    }
+
+    @Test
+    void readsHitsThroughProjections() {
+        CourseSearchQuery query = CourseSearchQuery.of("math explorers", null, null, null, null, null, null, null, null, 0, 1);
+
+        CourseListItem item = backend.search(query, CourseProjection.LIST).join().getContent().get(0);
+        JsonNode fields = backend.search(query, CourseProjection.fields(List.of("title", "price"))).join().getContent().get(0);
+
+        assertEquals("Math Explorers", item.title());
+        assertEquals(List.of("title", "price"), iterable(fields.fieldNames()));
+    }
+
+    @Test
+    void completesTitlesCaseInsensitively() {
+        assertTrue(backend.suggest("MATH", 10).join().contains("Math Explorers"));
+    }
+
+    @Test
+    void memoryMapsIndexWhenGivenAPath(@TempDir Path dir) throws IOException {
+        EmbeddedSearchProperties properties = new EmbeddedSearchProperties();
+        properties.setIndexPath(dir.resolve("index"));
+        EmbeddedSearchBackend mapped = new EmbeddedSearchBackend(catalogReader, new CatalogProperties(), properties, objectMapper);
+        mapped.load();
+        try {
+            CourseSearchQuery query = CourseSearchQuery.of(null, null, null, null, null, null, null, null, null, 0, 10);
+            assertEquals(catalog.size(), mapped.search(query, CourseProjection.FULL).join().getTotalElements());
+            try (Stream<Path> files = Files.list(dir.resolve("index"))) {
+                assertTrue(files.findAny().isPresent());
+            }
+        } finally {
+            mapped.close();
+        }
+    }
+
+    private List<CourseDocument> reference(CourseSearchQuery query) {
+        Comparator<CourseDocument> order = switch (query.sort()) {
+            case CourseSearchQuery.SORT_PRICE_ASC -> Comparator.comparing(CourseDocument::getPrice,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            case CourseSearchQuery.SORT_PRICE_DESC -> Comparator.comparing(CourseDocument::getPrice,
+                    Comparator.nullsLast(Comparator.reverseOrder()));
+            default -> Comparator.comparing(c -> c.getNextSessionDate() == null ? null : c.getNextSessionDate().toInstant(),
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+        };
+        return catalog.stream()
+                .filter(c -> query.category() == null || query.category().equals(c.getCategory()))
+                .filter(c -> query.type() == null || query.type().equals(c.getType()))
+                .filter(c -> query.startDate() == null || c.getNextSessionDate() != null
+                        && !c.getNextSessionDate().toInstant().isBefore(query.startDate().toInstant()))
+                .filter(c -> query.minPrice() == null || c.getPrice() != null && c.getPrice() >= query.minPrice())
+                .filter(c -> query.maxPrice() == null || c.getPrice() != null && c.getPrice() <= query.maxPrice())
+                .filter(c -> query.minAge() == null || c.getMaxAge() != null && c.getMaxAge() >= query.minAge())
+                .filter(c -> query.maxAge() == null || c.getMinAge() != null && c.getMinAge() <= query.maxAge())
+                .sorted(order)
+                .toList();
+    }
+
+    private static List<String> iterable(java.util.Iterator<String> names) {
+        List<String> list = new ArrayList<>();
+        names.forEachRemaining(list::add);
+        return list;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.undoschool_assignment_backend.service;
+
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.example.undoschool_assignment_backend.config.SlowQueryProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SearchMetrics metrics = new SearchMetrics(meterRegistry, new SlowQueryProperties(), new JacksonJsonpMapper());
+
+    @Test
+    void tagsSearchesWithSortAndPresentFilters() {
+        CourseSearchQuery query = CourseSearchQuery.of(null, 6, null, "Math", null, null, 50.0,
+                ZonedDateTime.parse("2025-06-01T00:00:00Z"), "priceAsc", 0, 10);
+
+        metrics.recordSearch("search", query, System.nanoTime(), null);
+
+        Timer timer = meterRegistry.get("courses.search")
+                .tag("sort", "priceAsc")
+                .tag("filters", "category,price,age,nextSessionDate")
+                .tag("text", "false")
+                .tag("outcome", "success")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void countsFailuresByException() {
+        CourseSearchQuery query = CourseSearchQuery.of("math", null, null, null, null, null, null, null, null, 0, 10);
+
+        metrics.recordSearch("search", query, System.nanoTime(), new IOException("connection reset"));
+
+        assertEquals(1, meterRegistry.get("courses.search").tag("filters", "none").tag("outcome", "error").timer().count());
+        assertEquals(1.0, meterRegistry.get("courses.errors").tag("exception", "IOException").counter().count());
+    }
+
+    @Test
+    void splitsRoundTripIntoElasticsearchAndTransport() {
+        SearchRequest request = SearchRequest.of(s -> s.index("courses").size(0));
+
+        metrics.recordRoundTrip("search", request, TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(30), 20);
+
+        assertEquals(20, phase("elasticsearch").totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(10, phase("transport").totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, phase("build").totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    private Timer phase(String phase) {
+        return meterRegistry.get("courses.search.phase").tag("phase", phase).timer();
+    }
+}
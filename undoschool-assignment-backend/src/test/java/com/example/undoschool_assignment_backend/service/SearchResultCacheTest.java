@@ -0,0 +1,59 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.SearchCacheProperties;
+import com.example.undoschool_assignment_backend.document.CourseDocument;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SearchResultCacheTest {
+
+    private final IndexGeneration generation = new IndexGeneration();
+    private final SearchResultCache cache = new SearchResultCache(new SearchCacheProperties(), generation, new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<CourseSearchQuery, Page<CourseDocument>> loader = query -> {
+        loads.incrementAndGet();
+        return Page.empty();
+    };
+
+    @Test
+    void servesEquivalentQueriesFromCache() {
+        cache.get(CourseSearchQuery.of(" Math ", null, null, "Math", "", null, null,
+                ZonedDateTime.parse("2025-06-10T20:30:00+05:30"), null, 0, 10), loader);
+        cache.get(CourseSearchQuery.of("math", null, null, "Math", null, null, null,
+                ZonedDateTime.parse("2025-06-10T15:00:00Z"), "UPCOMING", 0, 10), loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void advancingGenerationInvalidates() {
+        CourseSearchQuery query = CourseSearchQuery.of(null, 6, 10, null, null, null, null, null, "priceAsc", 0, 10);
+        cache.get(query, loader);
+        generation.advance();
+        cache.get(query, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void doesNotCacheFailures() {
+        CourseSearchQuery query = CourseSearchQuery.of("art", null, null, null, null, null, null, null, null, 0, 10);
+
+        assertThrows(UncheckedIOException.class, () -> cache.get(query, q -> {
+            throw new UncheckedIOException(new IOException("down"));
+        }));
+        cache.get(query, loader);
+
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.undoschool_assignment_backend.service;
+
+import com.example.undoschool_assignment_backend.config.CoalescingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(new CoalescingProperties(), meterRegistry);
+
+    @Test
+    void concurrentCallersShareOneCall() {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> response = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("search", "math", () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+        CompletableFuture<String> second = singleFlight.execute("search", "math", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        response.complete("result");
+
+        assertSame(first, second);
+        assertEquals("result", second.join());
+        assertEquals(1, calls.get());
+        assertEquals(1.0, count("executed"));
+        assertEquals(1.0, count("coalesced"));
+    }
+
+    @Test
+    void finishedCallIsNotReused() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("search", "math", () -> CompletableFuture.completedFuture(calls.incrementAndGet())).join();
+        int second = singleFlight.execute("search", "math", () -> CompletableFuture.completedFuture(calls.incrementAndGet())).join();
+
+        assertEquals(2, second);
+        assertEquals(0.0, count("coalesced"));
+    }
+
+    @Test
+    void failureReachesEveryWaiterAndIsNotReused() {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("suggest", "ma", () -> response);
+        CompletableFuture<String> second = singleFlight.execute("suggest", "ma", () -> response);
+
+        response.completeExceptionally(new IllegalStateException("down"));
+
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+        assertEquals("ok", singleFlight.execute("suggest", "ma", () -> CompletableFuture.completedFuture("ok")).join());
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("courses.coalescing.requests").tag("outcome", outcome).counter().count();
+    }
+}
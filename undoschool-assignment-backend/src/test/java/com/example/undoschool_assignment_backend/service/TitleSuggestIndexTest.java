@@ -0,0 +1,54 @@
+package com.example.undoschool_assignment_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TitleSuggestIndexTest {
+
+    private final TitleSuggestIndex index = TitleSuggestIndex.build(List.of(
+            "Math Explorers", "Math Games", "Math  Games", "math games", "Math Puzzles", "Math Puzzles",
+            "Marine Biology", "Art for Beginners"));
+
+    @Test
+    void returnsMostPopularTitlesForPrefixFirst() {
+        assertEquals(List.of("Math Games", "Math Puzzles", "Math Explorers"), index.topK("MATH", 10));
+    }
+
+    @Test
+    void limitsAndBreaksTiesAlphabetically() {
+        assertEquals(List.of("Math Games", "Math Puzzles"), index.topK("ma", 2));
+        assertEquals(List.of("Marine Biology"), index.topK(" mar", 5));
+    }
+
+    @Test
+    void returnsNothingForUnknownPrefix() {
+        assertTrue(index.topK("zoo", 10).isEmpty());
+        assertTrue(TitleSuggestIndex.EMPTY.topK("a", 10).isEmpty());
+    }
+
+    @Test
+    void agreesWithLinearScanOnLargeInput() {
+        List<String> titles = new ArrayList<>();
+        IntStream.range(0, 5_000).forEach(i -> {
+            for (int copy = 0; copy <= i % 7; copy++) {
+                titles.add("Course " + i);
+            }
+        });
+        TitleSuggestIndex large = TitleSuggestIndex.build(titles);
+
+        List<String> expected = IntStream.range(0, 5_000)
+                .filter(i -> String.valueOf(i).startsWith("12"))
+                .boxed()
+                .sorted((a, b) -> a % 7 != b % 7 ? Integer.compare(b % 7, a % 7) : ("course " + a).compareTo("course " + b))
+                .limit(10)
+                .map(i -> "Course " + i)
+                .toList();
+        assertEquals(expected, large.topK("course 12", 10));
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.undoschool_assignment_backend.support;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal in-process HTTP server that answers the handful of Elasticsearch endpoints used
+ * by the ingestion and search code, so benchmarks can measure client-side cost without a
+ * cluster. Bulk items can be rejected with 429 at a configurable rate to exercise retries.
+ * <p>
+ * Run it with {@code -Dsun.net.httpserver.nodelay=true}: without TCP_NODELAY the JDK server's
+ * separate header and body writes hit delayed ACKs (~40 ms per call).
+ */
+public class StubElasticsearchServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, String> cannedResponses = new ConcurrentHashMap<>();
+    private final Map<String, Integer> cannedFailures = new ConcurrentHashMap<>();
+    private final double rejectionRate;
+    private final AtomicLong bulkRequests = new AtomicLong();
+    private final AtomicLong bulkItems = new AtomicLong();
+    private final AtomicLong rejectedItems = new AtomicLong();
+    private final Queue<String> bulkBodies = new ConcurrentLinkedQueue<>();
+    private final Queue<String> bulkQueries = new ConcurrentLinkedQueue<>();
+    private final Map<String, ItemFailure> failingIds = new ConcurrentHashMap<>();
+    private final Queue<String> requests = new ConcurrentLinkedQueue<>();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile boolean recordBulks;
+    private RestClient restClient;
+
+    private StubElasticsearchServer(double rejectionRate) throws IOException {
+        this.rejectionRate = rejectionRate;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    public static StubElasticsearchServer start() throws IOException {
+        return new StubElasticsearchServer(0);
+    }
+
+    public static StubElasticsearchServer start(double rejectionRate) throws IOException {
+        return new StubElasticsearchServer(rejectionRate);
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /** Delays every canned response, standing in for the cluster's service time. */
+    public void latency(Duration latency) {
+        this.latency = latency;
+    }
+
+    /** Answers any request whose path ends with {@code pathSuffix} with the given JSON body. */
+    public void respond(String pathSuffix, String json) {
+        cannedResponses.put(pathSuffix, json);
+    }
+
+    /** Fails any request whose path ends with {@code pathSuffix} with the given status. */
+    public void fail(String pathSuffix, int status) {
+        cannedFailures.put(pathSuffix, status);
+    }
+
+    public synchronized ElasticsearchClient client() {
+        if (restClient == null) {
+            restClient = RestClient.builder(new HttpHost("localhost", port())).build();
+        }
+        ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper(mapper)));
+    }
+
+    public long bulkRequests() {
+        return bulkRequests.get();
+    }
+
+    public long bulkItems() {
+        return bulkItems.get();
+    }
+
+    public long rejectedItems() {
+        return rejectedItems.get();
+    }
+
+    /** Every request received so far as {@code "METHOD /path"}, in arrival order. */
+    public List<String> requests() {
+        return List.copyOf(requests);
+    }
+
+    /** Answers every following bulk item for {@code id} with an error of the given status. */
+    public void failItem(String id, int status) {
+        failItem(id, status, "stub_failure_exception");
+    }
+
+    /** Like {@link #failItem(String, int)}, with the given error type. */
+    public void failItem(String id, int status, String type) {
+        failingIds.put(id, new ItemFailure(status, type));
+    }
+
+    public void clearFailures() {
+        failingIds.clear();
+    }
+
+    /** Keeps the body and query string of every following bulk request for inspection. */
+    public void recordBulks() {
+        this.recordBulks = true;
+    }
+
+    /** The NDJSON bodies of the bulk requests recorded so far, in arrival order. */
+    public List<String> bulkBodies() {
+        return List.copyOf(bulkBodies);
+    }
+
+    /** The query strings of the bulk requests recorded so far, empty for none. */
+    public List<String> bulkQueries() {
+        return List.copyOf(bulkQueries);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (restClient != null) {
+            restClient.close();
+        }
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        requests.add(method + " " + path);
+        try (exchange) {
+            if (path.endsWith("/_bulk")) {
+                if (recordBulks) {
+                    String query = exchange.getRequestURI().getQuery();
+                    bulkQueries.add(query == null ? "" : query);
+                }
+                send(exchange, 200, bulk(exchange));
+                return;
+            }
+            exchange.getRequestBody().readAllBytes();
+            for (Map.Entry<String, Integer> failure : cannedFailures.entrySet()) {
+                if (path.endsWith(failure.getKey())) {
+                    send(exchange, failure.getValue(), "{\"error\":{\"type\":\"exception\",\"reason\":\"" + path
+                            + "\"},\"status\":" + failure.getValue() + "}");
+                    return;
+                }
+            }
+            for (Map.Entry<String, String> canned : cannedResponses.entrySet()) {
+                if (path.endsWith(canned.getKey())) {
+                    if (!latency.isZero()) {
+                        Thread.sleep(latency);
+                    }
+                    send(exchange, 200, canned.getValue());
+                    return;
+                }
+            }
+            if (path.endsWith("/_settings") && "GET".equals(method)) {
+                String index = path.substring(1, path.indexOf('/', 1));
+                send(exchange, 200, "{\"" + index + "\":{\"settings\":{\"index\":{\"uuid\":\"uuid-" + index + "\",\"refresh_interval\":\"1s\"}}}}");
+            } else if (path.endsWith("/_settings") || path.endsWith("/_aliases")) {
+                send(exchange, 200, "{\"acknowledged\":true}");
+            } else if (path.endsWith("/_refresh")) {
+                send(exchange, 200, "{\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0}}");
+            } else {
+                send(exchange, 404, "{\"error\":{\"type\":\"resource_not_found_exception\",\"reason\":\"" + path + "\"},\"status\":404}");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String bulk(HttpExchange exchange) throws IOException {
+        bulkRequests.incrementAndGet();
+        ArrayNode items = MAPPER.createArrayNode();
+        boolean errors = false;
+        StringBuilder body = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                body.append(line).append('\n');
+                JsonNode action = MAPPER.readTree(line);
+                String type = action.fieldNames().next();
+                JsonNode meta = action.get(type);
+                JsonNode document = null;
+                if (!"delete".equals(type)) {
+                    String source = reader.readLine();
+                    body.append(source).append('\n');
+                    document = MAPPER.readTree(source);
+                }
+                bulkItems.incrementAndGet();
+                ObjectNode result = MAPPER.createObjectNode()
+                        .put("_index", meta.path("_index").asText("courses"))
+                        .put("_id", meta.path("_id").asText());
+                ItemFailure failure = failingIds.get(meta.path("_id").asText());
+                if (failure != null) {
+                    errors = true;
+                    result.put("status", failure.status());
+                    result.putObject("error")
+                            .put("type", failure.type())
+                            .put("reason", "failed by test");
+                } else if (ThreadLocalRandom.current().nextDouble() < rejectionRate) {
+                    errors = true;
+                    rejectedItems.incrementAndGet();
+                    result.put("status", 429);
+                    result.putObject("error")
+                            .put("type", "es_rejected_execution_exception")
+                            .put("reason", "rejected execution");
+                } else if ("update".equals(type)) {
+                    result.put("status", 200).put("result", "updated");
+                    ObjectNode get = result.putObject("get").put("found", true);
+                    get.set("_source", document.path("doc"));
+                } else {
+                    result.put("status", "delete".equals(type) ? 200 : 201)
+                            .put("result", "delete".equals(type) ? "deleted" : "created");
+                }
+                items.addObject().set(type, result);
+            }
+        }
+        if (recordBulks) {
+            bulkBodies.add(body.toString());
+        }
+        ObjectNode response = MAPPER.createObjectNode().put("took", 1).put("errors", errors);
+        response.set("items", items);
+        return MAPPER.writeValueAsString(response);
+    }
+
+    private record ItemFailure(int status, String type) {
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("X-Elastic-Product", "Elasticsearch");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}